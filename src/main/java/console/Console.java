@@ -44,7 +44,10 @@ public class Console {
         try {
             consoleInitializer = new ConsoleInitializer();
             consoleInitializer.init(args);
+            consoleInitializer.prewarmGroups();
             lineReader = createLineReader(consoleInitializer);
+            // without the line reader the select result is not paged
+            ConsoleUtils.setPromptReader(lineReader);
             sc = new Scanner(System.in);
             if (!consoleInitializer.DisableAutoCompleter) {
                 KeyMap<Binding> keymap = lineReader.getKeyMaps().get(LineReader.MAIN);
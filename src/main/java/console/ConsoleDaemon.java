@@ -0,0 +1,251 @@
+package console;
+
+import console.common.ConsoleUtils;
+import console.common.ResultSink;
+import console.exception.ConsoleMessageException;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the SDK, the connections and the contract caches of the console alive and executes the
+ * commands sent by {@link DaemonClient} over a loopback TCP port.
+ *
+ * <p>Request: the number of arguments followed by the arguments, written with {@link
+ * DataOutputStream#writeUTF}, the arguments are the same as the ones of console.sh. Response: the
+ * exit code followed by the length and the bytes of the command output.
+ *
+ * <p>The request starts with the token written to {@link DaemonClient#TOKEN_FILE} by the daemon,
+ * which only the user who started the daemon can read. The requests are executed one by one, so
+ * the commands which read stdin or never end, e.g. monitor without a count, are refused.
+ */
+public class ConsoleDaemon {
+    private static final Logger logger = LoggerFactory.getLogger(ConsoleDaemon.class);
+
+    public static final String STOP_REQUEST = "--stop";
+    // these commands would stop the daemon or change the state shared by all the requests, they
+    // are refused in the requests and in the lines of the scripts
+    private static final List<String> UNSUPPORTED_COMMANDS =
+            Arrays.asList("quit", "q", "exit", "loadAccount", "switch", "s");
+    // in milliseconds, a client must send the whole request in time
+    private static final int REQUEST_TIMEOUT = 10 * 1000;
+    private static final int MAX_ARGS = 1024;
+
+    private final ConsoleInitializer consoleInitializer;
+    private final int defaultGroupId;
+    private final byte[] token;
+    private boolean running = true;
+
+    public ConsoleDaemon(ConsoleInitializer consoleInitializer, String token) {
+        this.consoleInitializer = consoleInitializer;
+        this.defaultGroupId = consoleInitializer.getGroupID();
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** write a random token to DaemonClient.TOKEN_FILE, readable and writable only by the owner */
+    private static String createToken() throws IOException {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        String token = String.format("%064x", new BigInteger(1, secret));
+        Path tokenPath = Paths.get(DaemonClient.TOKEN_FILE);
+        Files.deleteIfExists(tokenPath);
+        if (tokenPath.getParent() != null) {
+            Files.createDirectories(tokenPath.getParent());
+        }
+        try {
+            Files.createFile(
+                    tokenPath,
+                    PosixFilePermissions.asFileAttribute(
+                            PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            // not a POSIX file system
+            File tokenFile = Files.createFile(tokenPath).toFile();
+            tokenFile.setReadable(false, false);
+            tokenFile.setReadable(true, true);
+            tokenFile.setWritable(false, false);
+            tokenFile.setWritable(true, true);
+        }
+        Files.write(tokenPath, token.getBytes(StandardCharsets.UTF_8));
+        return token;
+    }
+
+    public static void main(String[] args) {
+        ConsoleInitializer consoleInitializer = new ConsoleInitializer();
+        ServerSocket serverSocket = null;
+        try {
+            consoleInitializer.init(args);
+            consoleInitializer.prewarmGroups();
+            String token = createToken();
+            int port = DaemonClient.getPort();
+            // only the local host is allowed to send commands
+            serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+            System.out.println(
+                    "The console daemon is listening on "
+                            + serverSocket.getInetAddress().getHostAddress()
+                            + ":"
+                            + port
+                            + ", group: "
+                            + consoleInitializer.getGroupID());
+            new ConsoleDaemon(consoleInitializer, token).serve(serverSocket);
+        } catch (Exception e) {
+            System.out.println("Start the console daemon failed, error info: " + e.getMessage());
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        } finally {
+            new File(DaemonClient.TOKEN_FILE).delete();
+            try {
+                if (serverSocket != null) {
+                    serverSocket.close();
+                }
+            } catch (IOException e) {
+                logger.warn(" close the daemon socket failed, e: {}", e);
+            }
+            System.exit(0);
+        }
+    }
+
+    public void serve(ServerSocket serverSocket) {
+        while (running) {
+            // the commands print to System.out, so they are executed one by one
+            try (Socket socket = serverSocket.accept()) {
+                handle(socket);
+            } catch (IOException e) {
+                logger.warn(" handle daemon request failed, e: {}", e);
+            }
+        }
+        System.out.println("The console daemon stopped.");
+    }
+
+    private void handle(Socket socket) throws IOException {
+        // a client which sends nothing must not block the other clients
+        socket.setSoTimeout(REQUEST_TIMEOUT);
+        DataInputStream input = new DataInputStream(socket.getInputStream());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int exitCode;
+        byte[] requestToken = input.readUTF().getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(token, requestToken)) {
+            logger.warn(" reject the daemon request with an invalid token");
+            output.write(
+                    ("Invalid token of the console daemon." + System.lineSeparator())
+                            .getBytes(StandardCharsets.UTF_8));
+            exitCode = 1;
+        } else {
+            int argCount = input.readInt();
+            if (argCount < 0 || argCount > MAX_ARGS) {
+                throw new IOException("invalid argument count: " + argCount);
+            }
+            List<String> args = new ArrayList<>();
+            for (int i = 0; i < argCount; i++) {
+                args.add(input.readUTF());
+            }
+            logger.info("daemon request: {}", args);
+            exitCode = execute(args, output);
+        }
+
+        DataOutputStream response = new DataOutputStream(socket.getOutputStream());
+        byte[] outputBytes = output.toByteArray();
+        response.writeInt(exitCode);
+        response.writeInt(outputBytes.length);
+        response.write(outputBytes);
+        response.flush();
+    }
+
+    private int execute(List<String> args, ByteArrayOutputStream output) throws IOException {
+        PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8.name());
+        if (args.isEmpty()) {
+            out.println("Please provide the command to execute.");
+            return 1;
+        }
+        if (STOP_REQUEST.equals(args.get(0))) {
+            running = false;
+            out.println("The console daemon is stopping.");
+            return 0;
+        }
+        int groupId = defaultGroupId;
+        if (NonInteractiveConsole.isNumeric(args.get(0))) {
+            groupId = Integer.parseInt(args.get(0));
+            args = args.subList(1, args.size());
+        }
+        if (args.isEmpty()) {
+            out.println("Please provide the command to execute.");
+            return 1;
+        }
+        String[] params;
+        try {
+            params = NonInteractiveConsole.parseOutputOption(args.toArray(new String[0]));
+        } catch (ConsoleMessageException e) {
+            out.println(e.getMessage());
+            return 1;
+        }
+        if (params.length == 0) {
+            out.println("Please provide the command to execute.");
+            return 1;
+        }
+        // the command may be given with its parameters in one argument, e.g. "switch 2"
+        String command = NonInteractiveConsole.getCommandName(params[0]);
+        if (UNSUPPORTED_COMMANDS.contains(command)) {
+            out.println("The command \"" + command + "\" is not supported by the daemon.");
+            return 1;
+        }
+        if (NonInteractiveConsole.SCRIPT_OPTIONS.contains(params[0])
+                && params.length > 1
+                && "-".equals(params[1])) {
+            out.println("The daemon can not read the script from stdin, please use a file.");
+            return 1;
+        }
+        // monitor runs until Enter is pressed without a count, which never comes to the daemon
+        if ("monitor".equals(params[0]) && (params.length < 4 || "0".equals(params[3]))) {
+            out.println(
+                    "The daemon only runs monitor with a positive count, e.g. monitor 1 10 60.");
+            return 1;
+        }
+        if (consoleInitializer.getGroupID() != groupId) {
+            consoleInitializer.switchGroupID(new String[] {"switch", String.valueOf(groupId)});
+            if (consoleInitializer.getGroupID() != groupId) {
+                out.println("Switch to group " + groupId + " failed.");
+                return 1;
+            }
+        }
+
+        PrintStream originalOut = System.out;
+        ResultSink originalSink = ConsoleUtils.getResultSink();
+        // the client only receives the JSON records in the JSON output, the other messages are
+        // printed by the daemon
+        if (!NonInteractiveConsole.isJsonOutput()) {
+            System.setOut(out);
+        }
+        ConsoleUtils.setResultSink(NonInteractiveConsole.newResultSink(out));
+        try {
+            if (NonInteractiveConsole.SCRIPT_OPTIONS.contains(params[0])) {
+                return NonInteractiveConsole.executeScript(
+                        consoleInitializer,
+                        params,
+                        scriptCommand -> !UNSUPPORTED_COMMANDS.contains(scriptCommand));
+            }
+            return NonInteractiveConsole.executeCommand(consoleInitializer, params) ? 0 : 1;
+        } finally {
+            ConsoleUtils.getResultSink().flush();
+            ConsoleUtils.setResultSink(originalSink);
+            out.flush();
+            System.setOut(originalOut);
+        }
+    }
+}
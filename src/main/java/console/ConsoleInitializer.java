@@ -3,7 +3,9 @@ package console;
 import console.client.ConsoleClientFace;
 import console.client.ConsoleClientImpl;
 import console.common.Common;
+import console.common.ConsoleMetrics;
 import console.common.ConsoleUtils;
+import console.common.NodeVersionCache;
 import console.contract.ConsoleContractFace;
 import console.contract.ConsoleContractImpl;
 import console.precompiled.PrecompiledFace;
@@ -13,8 +15,18 @@ import console.precompiled.permission.PermissionImpl;
 import java.io.Console;
 import java.io.File;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import org.fisco.bcos.sdk.BcosSDK;
 import org.fisco.bcos.sdk.client.Client;
+import org.fisco.bcos.sdk.config.Config;
 import org.fisco.bcos.sdk.config.ConfigOption;
 import org.fisco.bcos.sdk.config.exceptions.ConfigException;
 import org.fisco.bcos.sdk.crypto.CryptoSuite;
@@ -33,15 +45,18 @@ public class ConsoleInitializer {
 
     private BcosSDK bcosSDK;
     private Client client;
-    private ConsoleClientFace consoleClientFace;
-    private PrecompiledFace precompiledFace;
-    private PermissionFace permissionFace;
-    private ConsoleContractFace consoleContractFace;
+    private GroupContext groupContext;
+    // the clients and faces of the groups switched to or pre-warmed, each group is created once
+    // by the first caller without blocking the other groups
+    private final Map<Integer, FutureTask<GroupContext>> groupContexts =
+            new ConcurrentHashMap<>();
     public static boolean DisableAutoCompleter = false;
 
     public void init(String[] args) throws ConfigException {
         Integer groupId = Integer.valueOf(1);
         AccountInfo accountInfo = null;
+        Map<String, AccountInfo> keyStoreAccounts = null;
+        ExecutorService initExecutor = Executors.newSingleThreadExecutor();
         try {
             String configFileName = "config.toml";
             URL configUrl = ConsoleInitializer.class.getClassLoader().getResource(configFileName);
@@ -54,7 +69,15 @@ public class ConsoleInitializer {
                                 + ".");
             }
             String configFile = configUrl.getPath();
-            bcosSDK = BcosSDK.build(configFile);
+            ConfigOption configOption = Config.load(configFile);
+            if (args.length == 3) {
+                // the account given by the arguments replaces the configured one, the option is
+                // changed before the SDK reads it
+                configOption.getAccountConfig().clearAccount();
+            }
+            // connect to the nodes while parsing the arguments and scanning the key store, the
+            // SDK thread owns the config option from now on, it is only read here
+            Future<BcosSDK> sdkFuture = initExecutor.submit(() -> new BcosSDK(configOption));
             // bash start.sh -l
             if (args.length == 1) {
                 if ("-l".equals(args[0])) { // input by scanner for log
@@ -71,15 +94,20 @@ public class ConsoleInitializer {
                 }
             }
             if (args.length == 3) {
-                accountInfo = loadAccount(bcosSDK, args);
+                accountInfo = parseAccountInfo(args);
+            } else if (!configOption.getAccountConfig().isAccountConfigured()) {
+                keyStoreAccounts = scanKeyStore(configOption);
             }
+            bcosSDK = waitForBcosSDK(sdkFuture);
         } catch (NumberFormatException e) {
             System.out.println("Init BcosSDK failed for invalid groupId \"" + args[0] + "\"");
             System.out.println();
             System.exit(0);
+        } finally {
+            initExecutor.shutdown();
         }
         try {
-            this.client = bcosSDK.getClient(groupId);
+            this.client = ConsoleMetrics.instrument(bcosSDK.getClient(groupId));
             if (accountInfo != null) {
                 this.client
                         .getCryptoSuite()
@@ -92,7 +120,7 @@ public class ConsoleInitializer {
                     .getAccountConfig()
                     .isAccountConfigured()) {
                 try {
-                    accountInfo = loadAccountRandomly(bcosSDK, client);
+                    accountInfo = loadAccountRandomly(keyStoreAccounts, client);
                     if (accountInfo != null) {
                         this.client
                                 .getCryptoSuite()
@@ -112,10 +140,12 @@ public class ConsoleInitializer {
                     client.getCryptoSuite().getCryptoKeyPair().storeKeyPairWithPemFormat();
                 }
             }
-            this.consoleClientFace = new ConsoleClientImpl(client);
-            this.precompiledFace = new PrecompiledImpl(client);
-            this.permissionFace = new PermissionImpl(client);
-            this.consoleContractFace = new ConsoleContractImpl(client);
+            this.groupContext = new GroupContext(client);
+            GroupContext initContext = groupContext;
+            FutureTask<GroupContext> initTask = new FutureTask<>(() -> initContext);
+            initTask.run();
+            groupContexts.put(groupId, initTask);
+            NodeVersionCache.refresh(client);
         } catch (Exception e) {
             System.out.println(
                     "Failed to create BcosSDK failed! Please check the node status and the console configuration, error info: "
@@ -125,6 +155,130 @@ public class ConsoleInitializer {
         }
     }
 
+    /** the client of a group and the faces created on first use with the current account */
+    private static class GroupContext {
+        private final Client client;
+        private CryptoKeyPair cryptoKeyPair;
+        private ConsoleClientFace consoleClientFace;
+        private PrecompiledFace precompiledFace;
+        private PermissionFace permissionFace;
+        private ConsoleContractFace consoleContractFace;
+
+        private GroupContext(Client client) {
+            this.client = client;
+            this.cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
+        }
+
+        /** the faces keep the account they are created with, so they are reset on change */
+        private synchronized void useAccount(CryptoKeyPair cryptoKeyPair) {
+            if (this.cryptoKeyPair == cryptoKeyPair) {
+                return;
+            }
+            client.getCryptoSuite().setCryptoKeyPair(cryptoKeyPair);
+            this.cryptoKeyPair = cryptoKeyPair;
+            this.consoleClientFace = null;
+            this.precompiledFace = null;
+            this.permissionFace = null;
+            this.consoleContractFace = null;
+        }
+
+        private synchronized ConsoleClientFace getConsoleClientFace() {
+            if (consoleClientFace == null) {
+                consoleClientFace = new ConsoleClientImpl(client);
+            }
+            return consoleClientFace;
+        }
+
+        private synchronized PrecompiledFace getPrecompiledFace() {
+            if (precompiledFace == null) {
+                precompiledFace = new PrecompiledImpl(client);
+            }
+            return precompiledFace;
+        }
+
+        private synchronized PermissionFace getPermissionFace() {
+            if (permissionFace == null) {
+                permissionFace = new PermissionImpl(client);
+            }
+            return permissionFace;
+        }
+
+        private synchronized ConsoleContractFace getConsoleContractFace() {
+            if (consoleContractFace == null) {
+                consoleContractFace = new ConsoleContractImpl(client);
+            }
+            return consoleContractFace;
+        }
+    }
+
+    private GroupContext getGroupContext(int groupId) {
+        FutureTask<GroupContext> task = groupContexts.get(groupId);
+        if (task == null) {
+            FutureTask<GroupContext> newTask =
+                    new FutureTask<>(
+                            () ->
+                                    new GroupContext(
+                                            ConsoleMetrics.instrument(
+                                                    bcosSDK.getClient(groupId))));
+            task = groupContexts.putIfAbsent(groupId, newTask);
+            if (task == null) {
+                task = newTask;
+                task.run();
+            }
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating the client of the group");
+        } catch (ExecutionException e) {
+            // the next use of the group creates the client again
+            groupContexts.remove(groupId, task);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * create the clients and the faces of the other groups of the node in the background, so that
+     * switching to them does not wait for the SDK. The account is not set here, switch applies the
+     * current account when the group is used.
+     */
+    public void prewarmGroups() {
+        Client currentClient = client;
+        Thread thread =
+                new Thread(
+                        () -> {
+                            List<String> groupList;
+                            try {
+                                groupList = currentClient.getGroupList().getGroupList();
+                            } catch (Exception e) {
+                                logger.warn(" prewarm groups failed, e: {}", e);
+                                return;
+                            }
+                            for (String group : groupList) {
+                                try {
+                                    int groupId = Integer.parseInt(group);
+                                    if (groupId == currentClient.getGroupId()) {
+                                        continue;
+                                    }
+                                    GroupContext context = getGroupContext(groupId);
+                                    context.getConsoleClientFace();
+                                    context.getPrecompiledFace();
+                                    context.getPermissionFace();
+                                    context.getConsoleContractFace();
+                                } catch (Exception e) {
+                                    logger.debug(" prewarm group {} failed, e: {}", group, e);
+                                }
+                            }
+                        },
+                        "group-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     private class AccountInfo {
         private String accountFileFormat;
         private String accountFile;
@@ -161,36 +315,72 @@ public class ConsoleInitializer {
         }
     }
 
-    private AccountInfo loadAccountRandomly(BcosSDK bcosSDK, Client client) {
-        ConfigOption config = bcosSDK.getConfig();
+    private BcosSDK waitForBcosSDK(Future<BcosSDK> sdkFuture) throws ConfigException {
+        try {
+            return sdkFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigException("Init BcosSDK interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ConfigException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * the first pem account of each sub directory of the keyStoreDir, the sub directory depends on
+     * the crypto type of the group, which is only known after connecting to the nodes
+     */
+    private Map<String, AccountInfo> scanKeyStore(ConfigOption config) {
+        Map<String, AccountInfo> accounts = new HashMap<>();
         if (config.getAccountConfig() == null) {
-            return null;
+            return accounts;
         }
         String keyStoreDir = config.getAccountConfig().getKeyStoreDir();
         File keyStoreDirPath = new File(keyStoreDir);
         if (!keyStoreDirPath.exists() || !keyStoreDirPath.isDirectory()) {
-            return null;
+            return accounts;
         }
-        String subDir = client.getCryptoSuite().getKeyPairFactory().getKeyStoreSubDir();
-        String keyStoreFileDir = keyStoreDirPath + File.separator + subDir;
-        File keyStoreFileDirPath = new File(keyStoreFileDir);
-        logger.debug("loadAccountRandomly, keyStoreFileDirPath:{}", keyStoreFileDir);
-        if (!keyStoreFileDirPath.exists() || !keyStoreFileDirPath.isDirectory()) {
-            return null;
+        File[] subDirs = keyStoreDirPath.listFiles(File::isDirectory);
+        if (subDirs == null) {
+            return accounts;
         }
-        // load account from the keyStoreDir
-        File[] accountFileList = keyStoreFileDirPath.listFiles();
-        ConsoleUtils.sortFiles(accountFileList);
-        for (File accountFile : accountFileList) {
-            if (accountFile.getName().endsWith(".pem")) {
-                logger.debug("load pem account from {}", accountFile.getAbsoluteFile());
-                return new AccountInfo("pem", accountFile.getAbsolutePath(), null);
+        for (File keyStoreFileDirPath : subDirs) {
+            logger.debug("scanKeyStore, keyStoreFileDirPath:{}", keyStoreFileDirPath);
+            // load account from the keyStoreDir
+            File[] accountFileList = keyStoreFileDirPath.listFiles();
+            if (accountFileList == null) {
+                continue;
+            }
+            ConsoleUtils.sortFiles(accountFileList);
+            for (File accountFile : accountFileList) {
+                if (accountFile.getName().endsWith(".pem")) {
+                    accounts.put(
+                            keyStoreFileDirPath.getName(),
+                            new AccountInfo("pem", accountFile.getAbsolutePath(), null));
+                    break;
+                }
             }
         }
-        return null;
+        return accounts;
+    }
+
+    private AccountInfo loadAccountRandomly(
+            Map<String, AccountInfo> keyStoreAccounts, Client client) {
+        if (keyStoreAccounts == null) {
+            return null;
+        }
+        String subDir = client.getCryptoSuite().getKeyPairFactory().getKeyStoreSubDir();
+        AccountInfo accountInfo = keyStoreAccounts.get(subDir);
+        if (accountInfo != null) {
+            logger.debug("load pem account from {}", accountInfo.getAccountFile());
+        }
+        return accountInfo;
     }
 
-    private AccountInfo loadAccount(BcosSDK bcosSDK, String[] params) {
+    private AccountInfo parseAccountInfo(String[] params) {
         if (params.length <= 1) {
             return null;
         }
@@ -218,7 +408,6 @@ public class ConsoleInitializer {
         }
         String accountFileFormat = params[1].substring(1);
         String accountFile = params[2];
-        bcosSDK.getConfig().getAccountConfig().clearAccount();
         return new AccountInfo(accountFileFormat, accountFile, password);
     }
 
@@ -246,12 +435,11 @@ public class ConsoleInitializer {
         try {
             // load the original account
             CryptoKeyPair cryptoKeyPair = this.client.getCryptoSuite().getCryptoKeyPair();
-            this.client = bcosSDK.getClient(toGroupID);
-            this.client.getCryptoSuite().setCryptoKeyPair(cryptoKeyPair);
-            this.consoleClientFace = new ConsoleClientImpl(client);
-            this.precompiledFace = new PrecompiledImpl(client);
-            this.permissionFace = new PermissionImpl(client);
-            this.consoleContractFace = new ConsoleContractImpl(client);
+            GroupContext context = getGroupContext(toGroupID);
+            context.useAccount(cryptoKeyPair);
+            this.groupContext = context;
+            this.client = context.client;
+            NodeVersionCache.refresh(client);
             System.out.println("Switched to group " + toGroupID + ".");
             System.out.println();
         } catch (Exception e) {
@@ -321,10 +509,7 @@ public class ConsoleInitializer {
         CryptoSuite cryptoSuite = client.getCryptoSuite();
         // update the objects with new CryptoKeyPair
         cryptoSuite.loadAccount(accountFormat, accountPath, accountPassword);
-        this.consoleClientFace = new ConsoleClientImpl(client);
-        this.precompiledFace = new PrecompiledImpl(client);
-        this.permissionFace = new PermissionImpl(client);
-        this.consoleContractFace = new ConsoleContractImpl(client);
+        groupContext.useAccount(cryptoSuite.getCryptoKeyPair());
         System.out.println("Load account " + params[1] + " success!");
     }
 
@@ -336,6 +521,11 @@ public class ConsoleInitializer {
         return client;
     }
 
+    /** @return the pooled client of the group, which may not hold the current account */
+    public Client getGroupClient(int groupId) {
+        return getGroupContext(groupId).client;
+    }
+
     public BcosSDK getBcosSDK() {
         return bcosSDK;
     }
@@ -345,18 +535,18 @@ public class ConsoleInitializer {
     }
 
     public ConsoleClientFace getConsoleClientFace() {
-        return consoleClientFace;
+        return groupContext.getConsoleClientFace();
     }
 
     public PrecompiledFace getPrecompiledFace() {
-        return precompiledFace;
+        return groupContext.getPrecompiledFace();
     }
 
     public PermissionFace getPermissionFace() {
-        return permissionFace;
+        return groupContext.getPermissionFace();
     }
 
     public ConsoleContractFace getConsoleContractFace() {
-        return consoleContractFace;
+        return groupContext.getConsoleContractFace();
     }
 }
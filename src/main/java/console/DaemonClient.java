@@ -0,0 +1,79 @@
+package console;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * The thin client of {@link ConsoleDaemon}, it only depends on the JDK so that it starts without
+ * loading the SDK.
+ */
+public class DaemonClient {
+
+    public static final int DEFAULT_PORT = 20330;
+    public static final String PORT_ENV = "CONSOLE_DAEMON_PORT";
+    // the secret of the daemon, readable only by the user who started it
+    public static final String TOKEN_FILE = "conf/.daemon_token";
+
+    public static int getPort() {
+        String port = System.getenv(PORT_ENV);
+        if (port == null || port.trim().isEmpty()) {
+            return DEFAULT_PORT;
+        }
+        return Integer.parseInt(port.trim());
+    }
+
+    public static void main(String[] args) {
+        int exitCode = 1;
+        int port = DEFAULT_PORT;
+        try {
+            port = getPort();
+            String token;
+            try {
+                token =
+                        new String(
+                                        Files.readAllBytes(new File(TOKEN_FILE).toPath()),
+                                        StandardCharsets.UTF_8)
+                                .trim();
+            } catch (IOException e) {
+                System.out.println(
+                        "Read the token of the console daemon from "
+                                + TOKEN_FILE
+                                + " failed, please make sure the daemon has been started by the current user, error info: "
+                                + e.getMessage());
+                System.exit(exitCode);
+                return;
+            }
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                DataOutputStream request = new DataOutputStream(socket.getOutputStream());
+                request.writeUTF(token);
+                request.writeInt(args.length);
+                for (String arg : args) {
+                    request.writeUTF(arg);
+                }
+                request.flush();
+
+                DataInputStream response = new DataInputStream(socket.getInputStream());
+                exitCode = response.readInt();
+                byte[] output = new byte[response.readInt()];
+                response.readFully(output);
+                System.out.write(output);
+                System.out.flush();
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid " + PORT_ENV + ": " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println(
+                    "Send the command to the console daemon on port "
+                            + port
+                            + " failed, please make sure the daemon has been started by \"bash console.sh --daemon\", error info: "
+                            + e.getMessage());
+        }
+        System.exit(exitCode);
+    }
+}
@@ -1,12 +1,27 @@
 package console;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import console.command.SupportedCommand;
 import console.command.model.CommandInfo;
 import console.common.ConsoleUtils;
+import console.common.JsonResultSink;
+import console.common.ResultSink;
+import console.common.TextResultSink;
+import console.exception.ConsoleMessageException;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
 import org.fisco.bcos.sdk.client.exceptions.ClientException;
 import org.fisco.bcos.sdk.transaction.model.exception.ContractException;
+import org.fisco.bcos.sdk.utils.ObjectMapperFactory;
 import org.jline.reader.EndOfFileException;
 import org.jline.reader.UserInterruptException;
 import org.slf4j.Logger;
@@ -15,6 +30,16 @@ import org.slf4j.LoggerFactory;
 public class NonInteractiveConsole {
     private static final Logger logger = LoggerFactory.getLogger(NonInteractiveConsole.class);
 
+    static final List<String> SCRIPT_OPTIONS = Arrays.asList("-f", "--file");
+    private static final List<String> CONTINUE_ON_ERROR_OPTIONS =
+            Arrays.asList("-c", "--continue-on-error");
+    static final List<String> OUTPUT_OPTIONS = Arrays.asList("-o", "--output");
+    private static final String OUTPUT_FORMAT_JSON = "json";
+    private static final String OUTPUT_FORMAT_TEXT = "text";
+
+    // write one JSON record per command to stdout, the other messages are printed to stderr
+    private static volatile boolean jsonOutput = false;
+
     public static boolean isNumeric(String str) {
         try {
             new Integer(str);
@@ -47,94 +72,334 @@ public class NonInteractiveConsole {
                 System.arraycopy(args, 0, params, 0, params.length);
                 consoleInitializer.init(new String[] {});
             }
+            params = parseOutputOption(params);
+            if (jsonOutput) {
+                ConsoleUtils.setResultSink(newResultSink(System.out));
+                System.setOut(System.err);
+            }
         } catch (Exception e) {
             System.out.println(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
             return;
         }
+        if (params.length > 0 && SCRIPT_OPTIONS.contains(params[0])) {
+            int exitCode = 0;
+            try {
+                exitCode = executeScript(consoleInitializer, params);
+            } finally {
+                System.exit(exitCode);
+            }
+        }
         try {
-            String[] command = params[0].split(" ");
-            CommandInfo commandInfo = null;
-            boolean CRUDCommand = false;
-            // execute the command
-            if (command != null && command.length > 1) {
-                commandInfo = SupportedCommand.getCommandInfo(command[0]);
-                if (SupportedCommand.CRUD_COMMANDS.contains(command[0])) {
-                    CRUDCommand = true;
+            executeCommand(consoleInitializer, params);
+        } finally {
+            System.exit(0);
+        }
+    }
+
+    /**
+     * set the output format by the leading "--output json|text" of the arguments
+     *
+     * @return the arguments without the output option
+     */
+    public static String[] parseOutputOption(String[] params) throws ConsoleMessageException {
+        jsonOutput = false;
+        if (params.length == 0 || !OUTPUT_OPTIONS.contains(params[0])) {
+            return params;
+        }
+        if (params.length < 2
+                || !(OUTPUT_FORMAT_JSON.equals(params[1])
+                        || OUTPUT_FORMAT_TEXT.equals(params[1]))) {
+            throw new ConsoleMessageException(
+                    "Please provide \"json\" or \"text\" for the " + params[0] + " option.");
+        }
+        jsonOutput = OUTPUT_FORMAT_JSON.equals(params[1]);
+        return Arrays.copyOfRange(params, 2, params.length);
+    }
+
+    /** @return the sink of the command results in the output format set by parseOutputOption */
+    public static ResultSink newResultSink(PrintStream out) {
+        return jsonOutput ? new JsonResultSink(out) : new TextResultSink();
+    }
+
+    public static boolean isJsonOutput() {
+        return jsonOutput;
+    }
+
+    /**
+     * execute the commands of a script, one command per line, with a single connection
+     *
+     * @return the exit code of the console, 1 if any command failed
+     */
+    public static int executeScript(ConsoleInitializer consoleInitializer, String[] params) {
+        return executeScript(consoleInitializer, params, command -> true);
+    }
+
+    /**
+     * execute the commands of a script, the lines whose command is rejected by the filter fail
+     * without being executed
+     *
+     * @return the exit code of the console, 1 if any command failed
+     */
+    public static int executeScript(
+            ConsoleInitializer consoleInitializer,
+            String[] params,
+            Predicate<String> commandFilter) {
+        if (params.length < 2 || params.length > 3) {
+            System.out.println("Usage: bash console.sh [groupId] -f <scriptFile|-> [-c]");
+            System.out.println(
+                    "* scriptFile -- The file of the commands, one command per line, lines starting with # are ignored, \"-\" means reading the commands from stdin.");
+            System.out.println(
+                    "* -c/--continue-on-error -- Continue executing the following commands when a command failed, stop by default.");
+            return 1;
+        }
+        boolean continueOnError =
+                params.length == 3 && CONTINUE_ON_ERROR_OPTIONS.contains(params[2]);
+        if (params.length == 3 && !continueOnError) {
+            System.out.println("Unknown option: " + params[2]);
+            return 1;
+        }
+        String scriptFile = params[1];
+        int lineNumber = 0;
+        int successCount = 0;
+        List<Integer> failedLines = new ArrayList<>();
+        boolean stopped = false;
+        long startTime = System.currentTimeMillis();
+        try (BufferedReader reader =
+                "-".equals(scriptFile)
+                        ? new BufferedReader(new InputStreamReader(System.in))
+                        : Files.newBufferedReader(Paths.get(scriptFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String request = line.trim();
+                if (request.isEmpty() || request.startsWith("#")) {
+                    continue;
                 }
-            } else {
-                commandInfo = SupportedCommand.getCommandInfo(params[0]);
-            }
-            if (commandInfo != null) {
-                if (CRUDCommand) {
-                    String sqlCommand = params[0];
-                    String[] inputParamString = new String[1];
-                    inputParamString[0] = sqlCommand;
-                    commandInfo.callCommand(consoleInitializer, inputParamString);
+                String command = getCommandName(request);
+                boolean allowed = commandFilter.test(command);
+                if (allowed && SupportedCommand.QUITE.commandEqual(request)) {
+                    break;
+                }
+                if (!jsonOutput) {
+                    System.out.println("[line " + lineNumber + "] " + request);
+                }
+                long commandStartTime = System.currentTimeMillis();
+                boolean success =
+                        allowed
+                                ? executeLine(consoleInitializer, request)
+                                : rejectCommand(command);
+                long timeCost = System.currentTimeMillis() - commandStartTime;
+                if (success) {
+                    successCount++;
                 } else {
-                    String[] paramWithoutQuotation = new String[params.length];
-                    for (Integer i = 0; i < params.length; i++) {
-                        String param = params[i];
-                        paramWithoutQuotation[i] = param;
-                        // Remove the quotes around the input parameters
-                        if (param.length() >= 3 && param.startsWith("\"") && param.endsWith("\"")) {
-                            paramWithoutQuotation[i] = param.substring(1, param.length() - 1);
-                        }
-                    }
-                    commandInfo.callCommand(consoleInitializer, paramWithoutQuotation);
+                    failedLines.add(lineNumber);
+                }
+                if (!jsonOutput) {
+                    System.out.println(
+                            "[line "
+                                    + lineNumber
+                                    + "] "
+                                    + (success ? "success" : "failed")
+                                    + ", time cost: "
+                                    + timeCost
+                                    + " ms");
+                    System.out.println();
+                }
+                if (!success && !continueOnError) {
+                    stopped = true;
+                    break;
                 }
-            } else {
-                System.out.println("Undefined command: \"" + params[0] + "\". Try \"help\".\n");
             }
+        } catch (Exception e) {
+            System.out.println("read the script " + scriptFile + " failed: " + e.getMessage());
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+            return 1;
+        }
+        long totalTimeCost = System.currentTimeMillis() - startTime;
+        if (jsonOutput) {
+            ObjectNode summary = ObjectMapperFactory.getObjectMapper().createObjectNode();
+            summary.put("commands", successCount + failedLines.size());
+            summary.put("success", successCount);
+            summary.put("failed", failedLines.size());
+            summary.putPOJO("failedLines", failedLines);
+            summary.put("stopped", stopped);
+            ResultSink resultSink = ConsoleUtils.getResultSink();
+            resultSink.begin("summary");
+            resultSink.json(summary.toString());
+            resultSink.end(failedLines.isEmpty(), totalTimeCost);
+            return failedLines.isEmpty() ? 0 : 1;
+        }
+        ConsoleUtils.singleLine();
+        System.out.println(
+                "commands: "
+                        + (successCount + failedLines.size())
+                        + ", success: "
+                        + successCount
+                        + ", failed: "
+                        + failedLines.size()
+                        + ", total time cost: "
+                        + totalTimeCost
+                        + " ms");
+        if (!failedLines.isEmpty()) {
+            System.out.println("failed lines: " + failedLines);
+        }
+        if (stopped) {
+            System.out.println(
+                    "stopped at line "
+                            + lineNumber
+                            + ", use -c to continue executing when a command failed");
+        }
+        ConsoleUtils.singleLine();
+        return failedLines.isEmpty() ? 0 : 1;
+    }
+
+    /** execute a command line in the same way as the interactive console */
+    public static boolean executeLine(ConsoleInitializer consoleInitializer, String request) {
+        String[] params;
+        try {
+            params = ConsoleUtils.tokenizeCommand(request);
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            System.out.println();
+            return false;
+        }
+        if (params.length < 1 || "".equals(params[0].trim())) {
+            return true;
+        }
+        CommandInfo commandInfo = SupportedCommand.getCommandInfo(params[0]);
+        if (commandInfo == null) {
+            printUndefinedCommand(params[0]);
+            return false;
+        }
+        if (SupportedCommand.CRUD_COMMANDS.contains(params[0])) {
+            return callCommand(consoleInitializer, commandInfo, new String[] {request});
+        }
+        return callCommand(consoleInitializer, commandInfo, removeQuotation(params));
+    }
+
+    /** execute a command given by the arguments of console.sh */
+    public static boolean executeCommand(ConsoleInitializer consoleInitializer, String[] params) {
+        if (params.length == 0) {
+            SupportedCommand.printNonInteractiveDescInfo();
+            return false;
+        }
+        String[] command = params[0].split(" ");
+        CommandInfo commandInfo = null;
+        boolean CRUDCommand = false;
+        // execute the command
+        if (command != null && command.length > 1) {
+            commandInfo = SupportedCommand.getCommandInfo(command[0]);
+            if (SupportedCommand.CRUD_COMMANDS.contains(command[0])) {
+                CRUDCommand = true;
+            }
+        } else {
+            commandInfo = SupportedCommand.getCommandInfo(params[0]);
+        }
+        if (commandInfo == null) {
+            printUndefinedCommand(params[0]);
+            return false;
+        }
+        if (CRUDCommand) {
+            String sqlCommand = params[0];
+            String[] inputParamString = new String[1];
+            inputParamString[0] = sqlCommand;
+            return callCommand(consoleInitializer, commandInfo, inputParamString);
+        }
+        return callCommand(consoleInitializer, commandInfo, removeQuotation(params));
+    }
+
+    private static String[] removeQuotation(String[] params) {
+        String[] paramWithoutQuotation = new String[params.length];
+        for (Integer i = 0; i < params.length; i++) {
+            String param = params[i];
+            paramWithoutQuotation[i] = param;
+            // Remove the quotes around the input parameters
+            if (param.length() >= 3 && param.startsWith("\"") && param.endsWith("\"")) {
+                paramWithoutQuotation[i] = param.substring(1, param.length() - 1);
+            }
+        }
+        return paramWithoutQuotation;
+    }
+
+    /** @return the command of a command line, the first word of it */
+    public static String getCommandName(String request) {
+        return request.trim().split("\\s+")[0];
+    }
+
+    private static boolean rejectCommand(String command) {
+        ResultSink resultSink = ConsoleUtils.getResultSink();
+        resultSink.begin(command);
+        resultSink.error("The command \"" + command + "\" is not allowed in the script.");
+        resultSink.end(false, 0);
+        return false;
+    }
+
+    private static void printUndefinedCommand(String command) {
+        ResultSink resultSink = ConsoleUtils.getResultSink();
+        resultSink.begin(command);
+        resultSink.error("Undefined command: \"" + command + "\". Try \"help\".");
+        resultSink.end(false, 0);
+    }
+
+    private static boolean callCommand(
+            ConsoleInitializer consoleInitializer, CommandInfo commandInfo, String[] params) {
+        ResultSink resultSink = ConsoleUtils.getResultSink();
+        long startTime = System.currentTimeMillis();
+        resultSink.begin(String.join(" ", params));
+        boolean success = callCommandAndPrint(consoleInitializer, commandInfo, params);
+        resultSink.end(success, System.currentTimeMillis() - startTime);
+        return success;
+    }
+
+    private static boolean callCommandAndPrint(
+            ConsoleInitializer consoleInitializer, CommandInfo commandInfo, String[] params) {
+        ResultSink resultSink = ConsoleUtils.getResultSink();
+        try {
+            commandInfo.callCommand(consoleInitializer, params);
+            return true;
         } catch (ClientException e) {
             String errorMessage = e.getMessage();
             if (e.getErrorMessage() != null) {
                 errorMessage = e.getErrorMessage();
             }
-            ConsoleUtils.printJson(
-                    "{\"code\":" + e.getErrorCode() + ", \"msg\":" + "\"" + errorMessage + "\"}");
-            System.out.println();
+            resultSink.error(e.getErrorCode(), errorMessage);
             logger.error(" message: {}, e: {}", e.getMessage(), e);
         } catch (ContractException e) {
-            ConsoleUtils.printJson(
-                    "{\"code\":" + e.getErrorCode() + ", \"msg\":" + "\"" + e.getMessage() + "\"}");
-            System.out.println();
+            resultSink.error(e.getErrorCode(), e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
         } catch (ClassNotFoundException e) {
-            System.out.println(e.getMessage() + " does not exist.");
-            System.out.println();
+            resultSink.error(e.getMessage() + " does not exist.");
+        } catch (ConsoleMessageException e) {
+            // the failure reported by the command
+            resultSink.error(e.getMessage());
         } catch (IOException e) {
             if (e.getMessage().startsWith("activeConnections")) {
-                System.out.println(
+                resultSink.error(
                         "Lost the connection to the node. "
                                 + "Please check the connection between the console and the node.");
             } else if (e.getMessage().startsWith("No value")) {
-                System.out.println(
+                resultSink.error(
                         "The groupID is not configured in dist/conf/applicationContext.xml file.");
             } else {
-                System.out.println(e.getMessage());
+                resultSink.error(e.getMessage());
                 logger.error(" message: {}, e: {}", e.getMessage(), e);
             }
-            System.out.println();
         } catch (InvocationTargetException e) {
             Throwable targetException = e.getTargetException();
-            System.out.println(targetException.getMessage());
-            System.out.println();
+            resultSink.error(targetException.getMessage());
         } catch (UserInterruptException e) {
             consoleInitializer.stop();
         } catch (EndOfFileException e) {
             consoleInitializer.stop();
         } catch (RuntimeException e) {
 
-            System.out.println(e.getMessage());
-            System.out.println();
+            resultSink.error(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
         } catch (Exception e) {
-            System.out.println(e.getMessage());
-            System.out.println();
+            resultSink.error(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
-        } finally {
-            System.exit(0);
         }
+        return false;
     }
 }
@@ -1,6 +1,7 @@
 package console.client;
 
 import java.io.IOException;
+import java.util.function.IntFunction;
 import org.fisco.bcos.sdk.client.Client;
 
 public interface ConsoleClientFace {
@@ -34,17 +35,19 @@ public interface ConsoleClientFace {
 
     void getBlockByNumber(String[] params) throws IOException;
 
+    void scanBlocks(String[] params) throws Exception;
+
     void getBlockHeaderByHash(String[] params) throws IOException;
 
     void getBlockHeaderByNumber(String[] params) throws IOException;
 
     void getBlockHashByNumber(String[] params) throws IOException;
 
-    void getTransactionByHash(String[] params);
+    void getTransactionByHash(String[] params) throws IOException;
 
-    void getTransactionByBlockHashAndIndex(String[] params);
+    void getTransactionByBlockHashAndIndex(String[] params) throws IOException;
 
-    void getTransactionByBlockNumberAndIndex(String[] params);
+    void getTransactionByBlockNumberAndIndex(String[] params) throws IOException;
 
     void getTransactionReceipt(String[] params) throws Exception;
 
@@ -62,19 +65,19 @@ public interface ConsoleClientFace {
 
     void getSystemConfigByKey(String[] params) throws Exception;
 
-    void startGroup(String[] params);
+    void startGroup(String[] params) throws IOException;
 
-    void stopGroup(String[] params);
+    void stopGroup(String[] params) throws IOException;
 
-    void removeGroup(String[] params);
+    void removeGroup(String[] params) throws IOException;
 
-    void recoverGroup(String[] params);
+    void recoverGroup(String[] params) throws IOException;
 
-    void queryGroupStatus(String[] params);
+    void queryGroupStatus(String[] params) throws IOException;
 
-    void generateGroup(String[] params);
+    void generateGroup(String[] params) throws IOException;
 
-    void generateGroupFromFile(String[] params);
+    void generateGroupFromFile(String[] params) throws IOException;
 
     void newAccount(String[] params);
 
@@ -82,5 +85,11 @@ public interface ConsoleClientFace {
 
     void getBatchReceiptsByBlockHashAndRange(String[] params);
 
-    void getBatchReceiptsByBlockNumberAndRange(String[] params);
+    void getBatchReceiptsByBlockNumberAndRange(String[] params) throws IOException;
+
+    void metrics(String[] params) throws IOException;
+
+    void queryGroups(String[] params, IntFunction<Client> groupClients) throws Exception;
+
+    void monitor(String[] params) throws Exception;
 }
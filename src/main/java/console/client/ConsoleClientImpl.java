@@ -1,21 +1,46 @@
 package console.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.moandjiezana.toml.Toml;
 import console.client.model.GenerateGroupParam;
 import console.client.model.TotalTransactionCountResult;
+import console.command.model.HelpInfo;
 import console.common.Address;
 import console.common.Common;
+import console.common.ConsoleMetrics;
 import console.common.ConsoleUtils;
 import console.contract.ConsoleContractImpl;
+import console.exception.ConsoleMessageException;
+import io.bretty.console.table.Alignment;
+import io.bretty.console.table.ColumnFormatter;
+import io.bretty.console.table.Table;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
 import org.fisco.bcos.sdk.client.Client;
 import org.fisco.bcos.sdk.client.exceptions.ClientException;
 import org.fisco.bcos.sdk.client.protocol.model.JsonTransactionResponse;
+import org.fisco.bcos.sdk.client.protocol.response.BcosBlock;
 import org.fisco.bcos.sdk.client.protocol.response.TotalTransactionCount;
 import org.fisco.bcos.sdk.config.ConfigOption;
 import org.fisco.bcos.sdk.crypto.CryptoSuite;
@@ -30,8 +55,55 @@ import org.slf4j.LoggerFactory;
 
 public class ConsoleClientImpl implements ConsoleClientFace {
     private static final Logger logger = LoggerFactory.getLogger(ConsoleContractImpl.class);
+    private static final long SCAN_PROGRESS_INTERVAL = 5000;
     private Client client;
 
+    @FunctionalInterface
+    private interface GroupQuery {
+        String query(Client client) throws Exception;
+    }
+
+    // the read-only commands supported by queryGroups
+    private static final Map<String, GroupQuery> GROUP_QUERIES = new LinkedHashMap<>();
+
+    static {
+        GROUP_QUERIES.put(
+                "getBlockNumber", client -> client.getBlockNumber().getBlockNumber().toString());
+        GROUP_QUERIES.put("getPbftView", client -> client.getPbftView().getPbftView().toString());
+        GROUP_QUERIES.put(
+                "getPendingTxSize",
+                client -> Numeric.decodeQuantity(client.getPendingTxSize().getResult()).toString());
+        GROUP_QUERIES.put(
+                "getTotalTransactionCount",
+                client -> {
+                    TotalTransactionCount.TransactionCountInfo transactionCount =
+                            client.getTotalTransactionCount().getTotalTransactionCount();
+                    return "blockNumber: "
+                            + Numeric.decodeQuantity(transactionCount.getBlockNumber())
+                            + ", txSum: "
+                            + Numeric.decodeQuantity(transactionCount.getTxSum())
+                            + (transactionCount.getFailedTxSum() == null
+                                    ? ""
+                                    : ", failedTxSum: "
+                                            + Numeric.decodeQuantity(
+                                                    transactionCount.getFailedTxSum()));
+                });
+        GROUP_QUERIES.put(
+                "getSealerList", client -> client.getSealerList().getSealerList().toString());
+        GROUP_QUERIES.put(
+                "getObserverList",
+                client -> client.getObserverList().getObserverList().toString());
+        GROUP_QUERIES.put(
+                "getNodeIDList", client -> client.getNodeIDList().getNodeIDList().toString());
+        GROUP_QUERIES.put(
+                "getGroupPeers", client -> client.getGroupPeers().getGroupPeers().toString());
+        GROUP_QUERIES.put(
+                "getSyncStatus", client -> client.getSyncStatus().getSyncStatus().toString());
+        GROUP_QUERIES.put(
+                "getConsensusStatus",
+                client -> client.getConsensusStatus().getConsensusStatus().toString());
+    }
+
     public ConsoleClientImpl(Client client) {
         this.client = client;
     }
@@ -55,12 +127,12 @@ public class ConsoleClientImpl implements ConsoleClientFace {
 
     @Override
     public void getBlockNumber(String[] params) throws IOException {
-        System.out.println(client.getBlockNumber().getBlockNumber());
+        ConsoleUtils.printResult(client.getBlockNumber().getBlockNumber().toString());
     }
 
     @Override
     public void getPbftView(String[] params) throws IOException {
-        System.out.println(client.getPbftView().getPbftView());
+        ConsoleUtils.printResult(client.getPbftView().getPbftView().toString());
     }
 
     @Override
@@ -123,10 +195,11 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     @Override
     public void getGroupList(String[] params) throws IOException {
         if (params.length <= 1) {
-            System.out.println(client.getGroupList().getGroupList().toString());
+            ConsoleUtils.printResult(client.getGroupList().getGroupList().toString());
         } else {
             if (ConsoleUtils.checkEndPoint(params[1])) {
-                System.out.println(client.getGroupList(params[1]).getGroupList().toString());
+                ConsoleUtils.printResult(
+                        client.getGroupList(params[1]).getGroupList().toString());
             }
         }
     }
@@ -134,7 +207,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     @Override
     public void getBlockByHash(String[] params) throws IOException {
         String blockHash = params[1];
-        if (ConsoleUtils.isInvalidHash(blockHash)) return;
+        ConsoleUtils.checkHash(blockHash);
         boolean flag = false;
         if (params.length == 3) {
             if ("true".equals(params[2])) {
@@ -153,9 +226,6 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     public void getBlockByNumber(String[] params) throws IOException {
         String blockNumberStr = params[1];
         int blockNumber = ConsoleUtils.proccessNonNegativeNumber("blockNumber", blockNumberStr);
-        if (blockNumber == Common.InvalidReturnNumber) {
-            return;
-        }
         boolean flag = false;
         if (params.length == 3) {
             if ("true".equals(params[2])) {
@@ -173,10 +243,131 @@ public class ConsoleClientImpl implements ConsoleClientFace {
                         .toString());
     }
 
+    @Override
+    public void scanBlocks(String[] params) throws Exception {
+        int fromBlock = ConsoleUtils.proccessNonNegativeNumber("fromBlock", params[1]);
+        int toBlock = ConsoleUtils.proccessNonNegativeNumber("toBlock", params[2]);
+        if (fromBlock > toBlock) {
+            throw new ConsoleMessageException(
+                    "The fromBlock should not be greater than the toBlock.");
+        }
+        File outFile = new File(params[3]);
+        boolean withReceipts = false;
+        if (params.length > 4) {
+            if ("true".equals(params[4])) {
+                withReceipts = true;
+            } else if (!"false".equals(params[4])) {
+                throw new ConsoleMessageException(
+                        "Please provide true or false for the withReceipts.");
+            }
+        }
+        int concurrency = Common.DefaultScanConcurrency;
+        if (params.length > 5) {
+            concurrency =
+                    ConsoleUtils.proccessNonNegativeNumber(
+                            "concurrency", params[5], 1, Common.MaxScanConcurrency);
+        }
+        BigInteger blockNumber = client.getBlockNumber().getBlockNumber();
+        if (BigInteger.valueOf(toBlock).compareTo(blockNumber) > 0) {
+            throw new ConsoleMessageException(
+                    "The toBlock should not be greater than the current block number "
+                            + blockNumber
+                            + ".");
+        }
+        if (outFile.getParentFile() != null) {
+            outFile.getParentFile().mkdirs();
+        }
+
+        boolean fullTransactions = withReceipts;
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        ExecutorService executor = ConsoleMetrics.newFixedThreadPool(concurrency);
+        // the blocks are fetched concurrently but written in order, at most 2 * concurrency
+        // blocks are in flight or waiting to be written
+        Deque<Future<String>> window = new ArrayDeque<>();
+        int nextBlock = fromBlock;
+        int writtenBlocks = 0;
+        long startTime = System.currentTimeMillis();
+        long lastProgressTime = startTime;
+        try (BufferedWriter writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                new FileOutputStream(outFile), StandardCharsets.UTF_8))) {
+            while (nextBlock <= toBlock || !window.isEmpty()) {
+                while (nextBlock <= toBlock && window.size() < 2 * concurrency) {
+                    BigInteger number = BigInteger.valueOf(nextBlock++);
+                    window.add(
+                            executor.submit(
+                                    () -> scanBlock(objectMapper, number, fullTransactions)));
+                }
+                try {
+                    writer.write(window.poll().get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() == null ? e : e.getCause();
+                    logger.error(" message: {}, e: {}", cause.getMessage(), cause);
+                    throw new ConsoleMessageException(
+                            "Scan block "
+                                    + (fromBlock + writtenBlocks)
+                                    + " failed, "
+                                    + writtenBlocks
+                                    + " blocks have been written to "
+                                    + outFile.getAbsolutePath()
+                                    + ", error info: "
+                                    + cause.getMessage(),
+                            cause);
+                }
+                writer.newLine();
+                writtenBlocks++;
+                if (System.currentTimeMillis() - lastProgressTime >= SCAN_PROGRESS_INTERVAL) {
+                    lastProgressTime = System.currentTimeMillis();
+                    System.out.println(
+                            "scanned: " + writtenBlocks + "/" + (toBlock - fromBlock + 1));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long timeCost = Math.max(1, System.currentTimeMillis() - startTime);
+        System.out.println(
+                "Scan "
+                        + writtenBlocks
+                        + " blocks to "
+                        + outFile.getAbsolutePath()
+                        + ", time cost: "
+                        + timeCost
+                        + " ms, blocks per second: "
+                        + String.format("%.2f", writtenBlocks * 1000.0 / timeCost));
+    }
+
+    /** @return the block and its receipts as one line of JSON */
+    private String scanBlock(
+            ObjectMapper objectMapper, BigInteger blockNumber, boolean withReceipts)
+            throws IOException {
+        BcosBlock.Block block = client.getBlockByNumber(blockNumber, withReceipts).getBlock();
+        List<Object> transactions = new ArrayList<>();
+        if (block.getTransactions() != null) {
+            for (BcosBlock.TransactionResult transaction : block.getTransactions()) {
+                transactions.add(transaction.get());
+            }
+        }
+        block.setTransactions(null);
+        ObjectNode record = objectMapper.createObjectNode();
+        ObjectNode blockNode = objectMapper.valueToTree(block);
+        blockNode.set("transactions", objectMapper.valueToTree(transactions));
+        record.set("block", blockNode);
+        if (withReceipts) {
+            record.set(
+                    "receipts",
+                    objectMapper.valueToTree(
+                            client.getBatchReceiptsByBlockNumberAndRange(blockNumber, "0", "-1")
+                                    .decodeTransactionReceiptsInfo()));
+        }
+        return objectMapper.writeValueAsString(record);
+    }
+
     @Override
     public void getBlockHeaderByHash(String[] params) throws IOException {
         String blockHash = params[1];
-        if (ConsoleUtils.isInvalidHash(blockHash)) return;
+        ConsoleUtils.checkHash(blockHash);
 
         boolean flag = false;
         if (params.length == 3) {
@@ -197,9 +388,6 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     public void getBlockHeaderByNumber(String[] params) throws IOException {
         String blockNumberStr = params[1];
         int blockNumber = ConsoleUtils.proccessNonNegativeNumber("blockNumber", blockNumberStr);
-        if (blockNumber == Common.InvalidReturnNumber) {
-            return;
-        }
         boolean flag = false;
         if (params.length == 3) {
             if ("true".equals(params[2])) {
@@ -221,9 +409,6 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     public void getBlockHashByNumber(String[] params) throws IOException {
         String blockNumberStr = params[1];
         int blockNumber = ConsoleUtils.proccessNonNegativeNumber("blockNumber", blockNumberStr);
-        if (blockNumber == Common.InvalidReturnNumber) {
-            return;
-        }
         ConsoleUtils.printJson(
                 client.getBlockHashByNumber(BigInteger.valueOf(blockNumber))
                         .getBlockHashByNumber()
@@ -231,9 +416,9 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void getTransactionByHash(String[] params) {
+    public void getTransactionByHash(String[] params) throws IOException {
         String transactionHash = params[1];
-        if (ConsoleUtils.isInvalidHash(transactionHash)) return;
+        ConsoleUtils.checkHash(transactionHash);
         JsonTransactionResponse transaction =
                 client.getTransactionByHash(transactionHash).getTransaction().get();
         if (transaction == null) {
@@ -244,16 +429,11 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void getTransactionByBlockHashAndIndex(String[] params) {
+    public void getTransactionByBlockHashAndIndex(String[] params) throws IOException {
         String blockHash = params[1];
-        if (ConsoleUtils.isInvalidHash(blockHash)) {
-            return;
-        }
+        ConsoleUtils.checkHash(blockHash);
         String indexStr = params[2];
         int index = ConsoleUtils.proccessNonNegativeNumber("index", indexStr);
-        if (index == Common.InvalidReturnNumber) {
-            return;
-        }
         ConsoleUtils.printJson(
                 client.getTransactionByBlockHashAndIndex(blockHash, BigInteger.valueOf(index))
                         .getTransaction()
@@ -261,18 +441,12 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void getTransactionByBlockNumberAndIndex(String[] params) {
+    public void getTransactionByBlockNumberAndIndex(String[] params) throws IOException {
         try {
             String blockNumberStr = params[1];
             int blockNumber = ConsoleUtils.proccessNonNegativeNumber("blockNumber", blockNumberStr);
-            if (blockNumber == Common.InvalidReturnNumber) {
-                return;
-            }
             String indexStr = params[2];
             int index = ConsoleUtils.proccessNonNegativeNumber("index", indexStr);
-            if (index == Common.InvalidReturnNumber) {
-                return;
-            }
             String transactionJson =
                     client.getTransactionByBlockNumberAndIndex(
                                     BigInteger.valueOf(blockNumber), BigInteger.valueOf(index))
@@ -293,7 +467,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     @Override
     public void getTransactionReceipt(String[] params) throws Exception {
         String transactionHash = params[1];
-        if (ConsoleUtils.isInvalidHash(transactionHash)) return;
+        ConsoleUtils.checkHash(transactionHash);
 
         TransactionReceipt receipt =
                 client.getTransactionReceipt(transactionHash).getTransactionReceipt().get();
@@ -314,7 +488,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     @Override
     public void getTransactionByHashWithProof(String[] params) throws Exception {
         String transactionHash = params[1];
-        if (ConsoleUtils.isInvalidHash(transactionHash)) return;
+        ConsoleUtils.checkHash(transactionHash);
         String transactionWithProof =
                 client.getTransactionByHashWithProof(transactionHash).getResult().toString();
 
@@ -328,7 +502,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     @Override
     public void getTransactionReceiptByHashWithProof(String[] params) throws Exception {
         String transactionHash = params[1];
-        if (ConsoleUtils.isInvalidHash(transactionHash)) return;
+        ConsoleUtils.checkHash(transactionHash);
 
         String transactionReceiptWithProof =
                 client.getTransactionReceiptByHashWithProof(transactionHash).getResult().toString();
@@ -343,7 +517,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     @Override
     public void getPendingTxSize(String[] params) throws IOException {
         String size = client.getPendingTxSize().getResult();
-        System.out.println(Numeric.decodeQuantity(size));
+        ConsoleUtils.printResult(Numeric.decodeQuantity(size).toString());
     }
 
     @Override
@@ -356,10 +530,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     @Override
     public void getCode(String[] params) throws IOException {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         address = convertAddr.getAddress();
         String code = client.getCode(address).getCode();
         if ("0x".equals(code)) {
@@ -371,7 +542,12 @@ public class ConsoleClientImpl implements ConsoleClientFace {
 
     @Override
     public void getTotalTransactionCount(String[] params) throws IOException {
+        ConsoleUtils.printJson(
+                ObjectMapperFactory.getObjectMapper()
+                        .writeValueAsString(queryTotalTransactionCount()));
+    }
 
+    private TotalTransactionCountResult queryTotalTransactionCount() {
         TotalTransactionCount.TransactionCountInfo transactionCount =
                 client.getTotalTransactionCount().getTotalTransactionCount();
 
@@ -386,10 +562,143 @@ public class ConsoleClientImpl implements ConsoleClientFace {
             innerTotalTransactionCountResult.setFailedTxSum(
                     Numeric.decodeQuantity(transactionCount.getFailedTxSum()));
         }
+        return innerTotalTransactionCountResult;
+    }
 
-        ConsoleUtils.printJson(
-                ObjectMapperFactory.getObjectMapper()
-                        .writeValueAsString(innerTotalTransactionCountResult));
+    private static class MonitorSample {
+        private final long time;
+        private final TotalTransactionCountResult transactionCount;
+
+        private MonitorSample(long time, TotalTransactionCountResult transactionCount) {
+            this.time = time;
+            this.transactionCount = transactionCount;
+        }
+    }
+
+    @Override
+    public void monitor(String[] params) throws Exception {
+        int interval = 1;
+        if (params.length > 1) {
+            interval = ConsoleUtils.proccessNonNegativeNumber("interval", params[1], 1, 3600);
+        }
+        int window = Common.DefaultMonitorWindow;
+        if (params.length > 2) {
+            window = ConsoleUtils.proccessNonNegativeNumber("window", params[2], 1, 3600);
+        }
+        int count = 0;
+        if (params.length > 3) {
+            count = ConsoleUtils.proccessNonNegativeNumber("count", params[3]);
+        }
+        System.out.println(
+                "Monitor group "
+                        + client.getGroupId()
+                        + " every "
+                        + interval
+                        + "s, rolling window of "
+                        + window
+                        + " samples"
+                        + (count == 0 ? ", press Enter to stop." : ", samples: " + count + "."));
+        String format = "%-10s%12s%10s%12s%18s%10s%14s";
+        System.out.println(
+                String.format(
+                        format,
+                        "time",
+                        "blockNumber",
+                        "TPS",
+                        "avgTPS",
+                        "blockInterval(ms)",
+                        "pending",
+                        "failedRate(%)"));
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+        Deque<MonitorSample> samples = new ArrayDeque<>();
+        // ignore the input typed before the monitor starts
+        drainInput();
+        for (int i = 0; count == 0 || i < count; i++) {
+            if (i > 0 && waitOrStop(interval)) {
+                break;
+            }
+            MonitorSample sample;
+            String pending;
+            try {
+                sample = new MonitorSample(System.nanoTime(), queryTotalTransactionCount());
+                pending = Numeric.decodeQuantity(client.getPendingTxSize().getResult()).toString();
+            } catch (Exception e) {
+                System.out.println("query the node failed, error info: " + e.getMessage());
+                continue;
+            }
+            MonitorSample last = samples.peekLast();
+            samples.addLast(sample);
+            // window samples make window + 1 points
+            if (samples.size() > window + 1) {
+                samples.removeFirst();
+            }
+            MonitorSample first = samples.peekFirst();
+            System.out.println(
+                    String.format(
+                            format,
+                            LocalTime.now().format(timeFormatter),
+                            sample.transactionCount.getBlockNumber(),
+                            last == null ? "-" : formatRate(last, sample),
+                            first == sample ? "-" : formatRate(first, sample),
+                            formatBlockInterval(first, sample),
+                            pending,
+                            formatFailedRate(first, sample)));
+        }
+    }
+
+    private static String formatRate(MonitorSample from, MonitorSample to) {
+        BigInteger transactions =
+                to.transactionCount.getTxSum().subtract(from.transactionCount.getTxSum());
+        return String.format("%.2f", transactions.doubleValue() * 1e9 / (to.time - from.time));
+    }
+
+    private static String formatBlockInterval(MonitorSample from, MonitorSample to) {
+        BigInteger blocks =
+                to.transactionCount
+                        .getBlockNumber()
+                        .subtract(from.transactionCount.getBlockNumber());
+        if (blocks.signum() <= 0) {
+            return "-";
+        }
+        return String.format("%.0f", (to.time - from.time) / 1e6 / blocks.doubleValue());
+    }
+
+    private static String formatFailedRate(MonitorSample from, MonitorSample to) {
+        BigInteger transactions =
+                to.transactionCount.getTxSum().subtract(from.transactionCount.getTxSum());
+        if (transactions.signum() <= 0) {
+            return "-";
+        }
+        BigInteger failedTransactions =
+                to.transactionCount
+                        .getFailedTxSum()
+                        .subtract(from.transactionCount.getFailedTxSum());
+        return String.format(
+                "%.2f", failedTransactions.doubleValue() * 100 / transactions.doubleValue());
+    }
+
+    /** @return true if Enter is pressed or the thread is interrupted during the wait */
+    private static boolean waitOrStop(int intervalSeconds) throws IOException {
+        long deadline = System.nanoTime() + intervalSeconds * 1_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (System.in.available() > 0) {
+                drainInput();
+                return true;
+            }
+            try {
+                Thread.sleep(Math.min(100, (deadline - System.nanoTime()) / 1_000_000 + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void drainInput() throws IOException {
+        while (System.in.available() > 0) {
+            System.in.read();
+        }
     }
 
     @Override
@@ -404,7 +713,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
             if (Common.RPBFTEpochSealerNum.equals(key) || Common.RPBFTEpochBlockNum.equals(key)) {
                 System.out.println("Note: " + key + " only takes effect when RPBFT is used!");
             }
-            System.out.println(value);
+            ConsoleUtils.printResult(value);
         } else {
             System.out.println(
                     "Please provide a valid key, for example: "
@@ -415,7 +724,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
         }
     }
 
-    private Integer checkAndGetGroupId(String[] params) {
+    private Integer checkAndGetGroupId(String[] params) throws ConsoleMessageException {
         Integer groupId = client.getGroupId();
         if (!ConsoleUtils.checkEndPoint(params[1])) {
             return null;
@@ -424,15 +733,12 @@ public class ConsoleClientImpl implements ConsoleClientFace {
             groupId =
                     ConsoleUtils.proccessNonNegativeNumber(
                             "groupId", params[2], 1, Common.MaxGroupID);
-            if (groupId == Common.InvalidReturnNumber) {
-                groupId = null;
-            }
         }
         return groupId;
     }
 
     @Override
-    public void startGroup(String[] params) {
+    public void startGroup(String[] params) throws IOException {
         Integer groupId = checkAndGetGroupId(params);
         if (groupId == null) {
             return;
@@ -441,7 +747,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void stopGroup(String[] params) {
+    public void stopGroup(String[] params) throws IOException {
         Integer groupId = checkAndGetGroupId(params);
         if (groupId == null) {
             return;
@@ -450,7 +756,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void removeGroup(String[] params) {
+    public void removeGroup(String[] params) throws IOException {
         Integer groupId = checkAndGetGroupId(params);
         if (groupId == null) {
             return;
@@ -459,7 +765,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void recoverGroup(String[] params) {
+    public void recoverGroup(String[] params) throws IOException {
         Integer groupId = checkAndGetGroupId(params);
         if (groupId == null) {
             return;
@@ -468,7 +774,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void queryGroupStatus(String[] params) {
+    public void queryGroupStatus(String[] params) throws IOException {
         Integer groupId = checkAndGetGroupId(params);
         if (groupId == null) {
             return;
@@ -478,7 +784,7 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void generateGroup(String[] params) {
+    public void generateGroup(String[] params) throws IOException {
         Integer groupId = checkAndGetGroupId(params);
         if (groupId == null) {
             return;
@@ -518,14 +824,11 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void generateGroupFromFile(String[] params) {
+    public void generateGroupFromFile(String[] params) throws IOException {
         String groupIdStr = params[2];
         String groupConfigFileStr = params[1];
         int groupId =
                 ConsoleUtils.proccessNonNegativeNumber("groupId", groupIdStr, 1, Common.MaxGroupID);
-        if (groupId == Common.InvalidReturnNumber) {
-            return;
-        }
 
         File groupConfigFile = new File(groupConfigFileStr);
         if (!groupConfigFile.exists()) {
@@ -695,14 +998,11 @@ public class ConsoleClientImpl implements ConsoleClientFace {
     }
 
     @Override
-    public void getBatchReceiptsByBlockNumberAndRange(String[] params) {
+    public void getBatchReceiptsByBlockNumberAndRange(String[] params) throws IOException {
         String from = "0";
         String count = "-1";
         // get groupId
         Integer blockNumber = ConsoleUtils.proccessNonNegativeNumber("blockNumber", params[1]);
-        if (blockNumber == Common.InvalidReturnNumber) {
-            return;
-        }
         if (params.length > 2) {
             from = params[2];
         }
@@ -715,4 +1015,129 @@ public class ConsoleClientImpl implements ConsoleClientFace {
                         .decodeTransactionReceiptsInfo()
                         .toString());
     }
+
+    @Override
+    public void metrics(String[] params) throws IOException {
+        if (params.length == 1) {
+            ConsoleMetrics.printMetrics();
+            if (ConsoleMetrics.getDumpFile() != null) {
+                System.out.println("dump to: " + ConsoleMetrics.getDumpFile());
+            }
+            return;
+        }
+        if ("reset".equals(params[1]) && params.length == 2) {
+            ConsoleMetrics.reset();
+            System.out.println("Reset the metrics success.");
+            return;
+        }
+        if ("prometheus".equals(params[1]) && params.length == 2) {
+            System.out.print(ConsoleMetrics.toPrometheus());
+            return;
+        }
+        if ("dump".equals(params[1]) && params.length > 2) {
+            if ("off".equals(params[2]) && params.length == 3) {
+                ConsoleMetrics.stopDump();
+                System.out.println("Stop dumping the metrics.");
+                return;
+            }
+            int interval = Common.DefaultMetricsDumpInterval;
+            if (params.length > 3) {
+                interval =
+                        ConsoleUtils.proccessNonNegativeNumber(
+                                "interval", params[3], 1, Integer.MAX_VALUE);
+            }
+            ConsoleMetrics.startDump(params[2], interval);
+            System.out.println(
+                    "Dump the metrics to "
+                            + new File(params[2]).getAbsolutePath()
+                            + " every "
+                            + interval
+                            + " seconds.");
+            return;
+        }
+        HelpInfo.metricsHelp();
+    }
+
+    public static Set<String> getGroupQueries() {
+        return GROUP_QUERIES.keySet();
+    }
+
+    @Override
+    public void queryGroups(String[] params, IntFunction<Client> groupClients) throws Exception {
+        String command = params[2];
+        GroupQuery groupQuery = GROUP_QUERIES.get(command);
+        if (groupQuery == null) {
+            System.out.println(
+                    "The command \""
+                            + command
+                            + "\" is not supported by queryGroups, supported commands: "
+                            + GROUP_QUERIES.keySet());
+            return;
+        }
+        List<Integer> groupIds = new ArrayList<>();
+        if ("all".equals(params[1])) {
+            for (String group : client.getGroupList().getGroupList()) {
+                groupIds.add(Integer.valueOf(group));
+            }
+            Collections.sort(groupIds);
+        } else {
+            for (String group : params[1].split(",")) {
+                int groupId =
+                        ConsoleUtils.proccessNonNegativeNumber(
+                                "groupId", group.trim(), 1, Common.MaxGroupID);
+                if (!groupIds.contains(groupId)) {
+                    groupIds.add(groupId);
+                }
+            }
+        }
+        if (groupIds.isEmpty()) {
+            System.out.println("Empty set.");
+            return;
+        }
+
+        ExecutorService executor =
+                ConsoleMetrics.newFixedThreadPool(
+                        Math.min(groupIds.size(), Common.MaxQueryGroupsConcurrency));
+        List<Future<String[]>> results = new ArrayList<>();
+        try {
+            for (Integer groupId : groupIds) {
+                results.add(
+                        executor.submit(
+                                () -> {
+                                    long startTime = System.currentTimeMillis();
+                                    String result;
+                                    try {
+                                        result = groupQuery.query(groupClients.apply(groupId));
+                                    } catch (Exception e) {
+                                        result = "error: " + e.getMessage();
+                                        logger.debug(
+                                                "queryGroups {} of group {} failed, e: {}",
+                                                command,
+                                                groupId,
+                                                e);
+                                    }
+                                    return new String[] {
+                                        String.valueOf(groupId),
+                                        result,
+                                        String.valueOf(System.currentTimeMillis() - startTime)
+                                    };
+                                }));
+            }
+            String[] headers = {"groupId", command, "timeCost(ms)"};
+            String[][] data = new String[results.size()][];
+            int width = command.length();
+            for (int i = 0; i < results.size(); i++) {
+                data[i] = results.get(i).get();
+                width = Math.max(width, data[i][1].length());
+            }
+            ColumnFormatter<String> cf =
+                    ColumnFormatter.text(
+                            Alignment.LEFT, Math.min(width, Common.MaxQueryGroupsColumnWidth));
+            ConsoleUtils.singleLine();
+            System.out.println(Table.of(headers, data, cf));
+            ConsoleUtils.singleLine();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
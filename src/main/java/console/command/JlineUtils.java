@@ -82,7 +82,10 @@ public class JlineUtils {
                             new StringsCompleterIgnoreCase()));
         }
         // contract address and method completer
-        commands = Arrays.asList(SupportedCommand.CALL.getCommand());
+        commands =
+                Arrays.asList(
+                        SupportedCommand.CALL.getCommand(),
+                        SupportedCommand.BENCH_CALL.getCommand());
         for (String command : commands) {
             completers.add(
                     new ArgumentCompleter(
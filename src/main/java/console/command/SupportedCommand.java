@@ -16,7 +16,6 @@ package console.command;
 import console.ConsoleInitializer;
 import console.command.model.CommandInfo;
 import console.command.model.HelpInfo;
-import console.common.Common;
 import console.common.ConsoleUtils;
 import console.contract.utils.ContractCompiler;
 import java.io.File;
@@ -479,6 +478,48 @@ public class SupportedCommand {
                     1,
                     1,
                     false);
+    public static final CommandInfo QUERY_GROUPS =
+            new CommandInfo(
+                    "queryGroups",
+                    "Run a read-only query against several groups concurrently",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.queryGroupsHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer
+                                    .getConsoleClientFace()
+                                    .queryGroups(params, consoleInitializer::getGroupClient);
+                        }
+                    },
+                    2,
+                    2);
+
+    public static final CommandInfo MONITOR =
+            new CommandInfo(
+                    "monitor",
+                    "Show the TPS, block interval, pending transactions and failed rate continuously",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.monitorHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getConsoleClientFace().monitor(params);
+                        }
+                    },
+                    0,
+                    3);
+
     public static final CommandInfo SET_SYSTEMCONFIGBYKEY =
             new CommandInfo(
                     "setSystemConfigByKey",
@@ -517,6 +558,44 @@ public class SupportedCommand {
                     },
                     1,
                     1);
+    public static final CommandInfo BATCH_PERMISSION =
+            new CommandInfo(
+                    "batchPermission",
+                    "Grant or revoke the permission of the accounts in a file",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.batchPermissionHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getPermissionFace().batchPermission(params);
+                        }
+                    },
+                    2,
+                    4);
+    public static final CommandInfo PERMISSION_SNAPSHOT =
+            new CommandInfo(
+                    "permissionSnapshot",
+                    "Query all the permission lists concurrently as one JSON document",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.permissionSnapshotHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getPermissionFace().permissionSnapshot(params);
+                        }
+                    },
+                    0,
+                    5);
     public static final CommandInfo UNFREEZE_ACCOUNT =
             new CommandInfo(
                     "unfreezeAccount",
@@ -730,6 +809,65 @@ public class SupportedCommand {
                     },
                     3,
                     -1);
+    public static final CommandInfo BENCH_CALL =
+            new CommandInfo(
+                    "benchCall",
+                    "Send a number of calls or transactions to a contract concurrently and report the TPS and latency",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.benchCallHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getConsoleContractFace().benchCall(params);
+                        }
+                    },
+                    6,
+                    -1);
+    public static final CommandInfo TX_MODE =
+            new CommandInfo(
+                    "txMode",
+                    "Show or set the transaction mode of call, in async mode the receipts are collected in the background",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.txModeHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getConsoleContractFace().txMode(params);
+                        }
+                    },
+                    0,
+                    1,
+                    false);
+    public static final CommandInfo RECEIPTS =
+            new CommandInfo(
+                    "receipts",
+                    "Show the pending and completed transactions sent in async mode",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.receiptsHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getConsoleContractFace().receipts(params);
+                        }
+                    },
+                    0,
+                    1,
+                    false);
     public static final CommandInfo DEPLOY_BY_CNS =
             new CommandInfo(
                     "deployByCNS",
@@ -1152,6 +1290,46 @@ public class SupportedCommand {
                         }
                     },
                     NODE_VERSION_2_0_0_RC3);
+    public static final CommandInfo IMPORT_TABLE =
+            new CommandInfo(
+                    "importTable",
+                    "Insert the records of a CSV file into the table",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.importTableHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getPrecompiledFace().importTable(params);
+                        }
+                    },
+                    2,
+                    3,
+                    NODE_VERSION_2_0_0_RC3);
+    public static final CommandInfo EXPORT_TABLE =
+            new CommandInfo(
+                    "exportTable",
+                    "Export the records of the keys in the table to a CSV or JSON Lines file",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.exportTableHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getPrecompiledFace().exportTable(params);
+                        }
+                    },
+                    3,
+                    5,
+                    NODE_VERSION_2_0_0_RC3);
     public static final CommandInfo GET_CURRENT_ACCOUNT =
             new CommandInfo(
                     "getCurrentAccount",
@@ -1406,6 +1584,26 @@ public class SupportedCommand {
                     1,
                     2);
 
+    public static final CommandInfo SCAN_BLOCKS =
+            new CommandInfo(
+                    "scanBlocks",
+                    "Export the blocks in a range to a file as JSON Lines",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.scanBlocksHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getConsoleClientFace().scanBlocks(params);
+                        }
+                    },
+                    3,
+                    5);
+
     public static final CommandInfo GET_BLOCKHEADER_BY_HASH =
             new CommandInfo(
                     "getBlockHeaderByHash",
@@ -1896,9 +2094,6 @@ public class SupportedCommand {
                                 recordNum =
                                         ConsoleUtils.proccessNonNegativeNumber(
                                                 "recordNum", params[2], 1, Integer.MAX_VALUE);
-                                if (recordNum == Common.InvalidReturnNumber) {
-                                    return;
-                                }
                             }
                             if (!contractFile.exists()) {
                                 System.out.println(
@@ -2075,6 +2270,26 @@ public class SupportedCommand {
                     1,
                     3);
 
+    public static final CommandInfo METRICS =
+            new CommandInfo(
+                    "metrics",
+                    "Show the counters and the time cost of the commands",
+                    new CommandInfo.UsageDisplay() {
+                        @Override
+                        public void printUsageInfo() {
+                            HelpInfo.metricsHelp();
+                        }
+                    },
+                    new CommandInfo.CommandImplement() {
+                        @Override
+                        public void call(ConsoleInitializer consoleInitializer, String[] params)
+                                throws Exception {
+                            consoleInitializer.getConsoleClientFace().metrics(params);
+                        }
+                    },
+                    0,
+                    3);
+
     public static List<String> CRUD_COMMANDS =
             new ArrayList<String>(
                     Arrays.asList(
@@ -2144,7 +2359,16 @@ public class SupportedCommand {
         System.out.println(
                 "# Subcommand[Required]: The command sent to the node, Please refer to the following for the list of subCommand");
         System.out.println(
-                "use command \"bash console.sh [subCommand] -h\" to get the help of the subcommand.\n");
+                "use command \"bash console.sh [subCommand] -h\" to get the help of the subcommand.");
+        System.out.println("# bash console.sh [groupId] -f <scriptFile|-> [-c]");
+        System.out.println(
+                "# Execute the commands of the script file (or stdin) one per line with a single connection, -c to continue when a command failed");
+        System.out.println("# bash console.sh [groupId] --output json [Subcommand|-f scriptFile]");
+        System.out.println(
+                "# Print one JSON record per command to stdout: {\"command\", \"output\", \"status\", \"error\", \"timeCost\"}, the other messages to stderr");
+        System.out.println("# bash console.sh --daemon [groupId]");
+        System.out.println(
+                "# Start a daemon keeping the connections warm, then use \"bash console.sh --remote [groupId] [Subcommand]\" to send commands to it\n");
         System.out.println("# Subcommand list:");
         Set<String> keys = commandToCommandInfo.keySet();
         List<String> commandList = new ArrayList<String>(keys);
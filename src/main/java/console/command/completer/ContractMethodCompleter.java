@@ -1,11 +1,10 @@
 package console.command.completer;
 
-import console.contract.model.AbiAndBin;
-import console.contract.utils.ContractCompiler;
+import console.common.ConsoleUtils;
+import console.contract.utils.ContractAbiCache;
 import java.util.List;
 import org.fisco.bcos.sdk.abi.wrapper.ABIDefinition;
 import org.fisco.bcos.sdk.client.Client;
-import org.fisco.bcos.sdk.codegen.CodeGenUtils;
 import org.jline.reader.Candidate;
 import org.jline.reader.LineReader;
 import org.jline.reader.ParsedLine;
@@ -32,11 +31,13 @@ public class ContractMethodCompleter extends StringsCompleterIgnoreCase {
             String contractNameOrPath = ss[1];
             String contractAddress = ss[2];
             try {
-                AbiAndBin abiAndBin =
-                        ContractCompiler.loadAbiAndBin(
-                                client.getGroupId(), contractNameOrPath, contractAddress);
                 List<ABIDefinition> abiDefinitions =
-                        CodeGenUtils.loadContractAbiDefinition(abiAndBin.getAbi());
+                        ContractAbiCache.load(
+                                        client.getGroupId(),
+                                        ConsoleUtils.getContractName(contractNameOrPath),
+                                        contractNameOrPath,
+                                        contractAddress)
+                                .getDefinitions();
                 for (ABIDefinition definition : abiDefinitions) {
                     String functionName = definition.getName();
                     candidates.add(
@@ -15,6 +15,7 @@ package console.command.model;
 
 import console.ConsoleInitializer;
 import console.command.SupportedCommand;
+import console.common.ConsoleMetrics;
 import console.common.ConsoleUtils;
 import java.util.List;
 
@@ -267,7 +268,15 @@ public class CommandInfo {
                         true)) {
             return;
         }
-        commandImplement.call(consoleInitializer, params);
+        long startTime = System.nanoTime();
+        String previousCommand = ConsoleMetrics.beginCommand(command);
+        boolean success = false;
+        try {
+            commandImplement.call(consoleInitializer, params);
+            success = true;
+        } finally {
+            ConsoleMetrics.endCommand(previousCommand, startTime, success);
+        }
         System.out.println();
     }
 }
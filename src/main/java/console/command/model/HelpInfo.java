@@ -1,7 +1,10 @@
 package console.command.model;
 
+import console.client.ConsoleClientImpl;
 import console.command.SupportedCommand;
 import console.common.Common;
+import console.contract.ConsoleContractImpl;
+import console.precompiled.permission.PermissionImpl;
 import org.fisco.bcos.sdk.model.PrecompiledConstant;
 
 public class HelpInfo {
@@ -146,6 +149,29 @@ public class HelpInfo {
                         + "the list of all connected nodes can be obtained through getAvailableConnections");
     }
 
+    public static void queryGroupsHelp() {
+        System.out.println(
+                "Run a read-only query against several groups concurrently and print the results in a table.");
+        System.out.println("Usage: \nqueryGroups all|groupIds command");
+        System.out.println(
+                "* all|groupIds -- \"all\" for all the groups of the node, or the group IDs splited by \",\", e.g. 1,2,3.");
+        System.out.println("* command -- One of " + ConsoleClientImpl.getGroupQueries() + ".");
+    }
+
+    public static void monitorHelp() {
+        System.out.println(
+                "Sample the total transaction count and the pending transaction size of the current group periodically and show the TPS, the block interval and the failed rate.");
+        System.out.println("Usage: \nmonitor [interval] [window] [count]");
+        System.out.println(
+                "* interval -- (optional) The sampling interval in seconds, from 1 to 3600 (default is 1).");
+        System.out.println(
+                "* window -- (optional) The number of the samples the average TPS, the block interval and the failed rate are computed over, from 1 to 3600 (default is "
+                        + Common.DefaultMonitorWindow
+                        + ").");
+        System.out.println(
+                "* count -- (optional) The number of the samples to show, 0 means until Enter is pressed (default is 0).");
+    }
+
     public static void quitHelp() {
         System.out.println("Quit console.");
         System.out.println("Usage: \nquit or exit");
@@ -170,6 +196,28 @@ public class HelpInfo {
                 "* boolean -- (optional) If true it returns the full transaction objects, if false only the hashes of the transactions.");
     }
 
+    public static void scanBlocksHelp() {
+        System.out.println(
+                "Fetch the blocks in a range concurrently and write them in order to a file, one block per line in JSON.");
+        System.out.println(
+                "Usage: \nscanBlocks fromBlock toBlock outFile [withReceipts] [concurrency]");
+        System.out.println(
+                "* fromBlock -- Integer of the first block number, "
+                        + Common.NonNegativeIntegerRange
+                        + ".");
+        System.out.println(
+                "* toBlock -- Integer of the last block number, not greater than the current block number.");
+        System.out.println("* outFile -- The file to write the blocks to.");
+        System.out.println(
+                "* withReceipts -- (optional) If true the full transaction objects and the receipts of the block are also written, if false only the hashes of the transactions (default is false).");
+        System.out.println(
+                "* concurrency -- (optional) The number of the blocks fetched at the same time, from 1 to "
+                        + Common.MaxScanConcurrency
+                        + " (default is "
+                        + Common.DefaultScanConcurrency
+                        + ").");
+    }
+
     public static void getBlockHeaderByHashHelp() {
         System.out.println("Query information about a block header by hash.");
         System.out.println("Usage: \ngetBlockHeaderByHash blockHash [boolean]");
@@ -288,6 +336,49 @@ public class HelpInfo {
         System.out.println("* parameters -- The parameters(splited by a space) of a function.");
     }
 
+    public static void benchCallHelp() {
+        System.out.println(
+                "Send a number of calls or transactions to a contract concurrently and report the TPS and latency.");
+        System.out.println(
+                "Usage: \nbenchCall contractNameOrPath contractAddress function count concurrency qps parameters");
+        System.out.println(
+                "* contractNameOrPath -- The name of a contract or the path of a contract, when set to \"latest\", the contract address is the latest contract address (Default load contract from the \"contracts/solidity\" path when using contractName).");
+        System.out.println("* contractAddress -- 20 Bytes - The address of a contract.");
+        System.out.println("* function -- The function of a contract.");
+        System.out.println(
+                "* count -- The number of the calls or transactions to send, from 1 to "
+                        + Common.MaxBenchCount
+                        + ".");
+        System.out.println(
+                "* concurrency -- The number of the requests in flight at the same time, "
+                        + "from 1 to "
+                        + Common.MaxBenchConcurrency
+                        + ".");
+        System.out.println("* qps -- The target requests per second, 0 means unlimited.");
+        System.out.println(
+                "* parameters -- The parameters(splited by a space) of a function, \""
+                        + ConsoleContractImpl.BENCH_INDEX_PLACEHOLDER
+                        + "\" is replaced by the index of the request.");
+    }
+
+    public static void txModeHelp() {
+        System.out.println(
+                "Show or set the transaction mode of call, in async mode call returns the transaction hash as soon as the transaction is sent and the receipts are collected in the background.");
+        System.out.println("Usage: \ntxMode [sync|async]");
+        System.out.println(
+                "* sync|async -- (optional) The transaction mode, show the current mode if not set.");
+    }
+
+    public static void receiptsHelp() {
+        System.out.println("Show the pending and completed transactions sent in async mode.");
+        System.out.println("Usage: \nreceipts [transactionHash|clear]");
+        System.out.println(
+                "* transactionHash -- (optional) Show the receipt of the transaction, show all the pending and the latest "
+                        + Common.QueryLogCount
+                        + " completed transactions if not set.");
+        System.out.println("* clear -- (optional) Clear the completed transactions.");
+    }
+
     public static void deployByCNSHelp() {
         System.out.println("Deploy a contract on blockchain by CNS.");
         System.out.println("Usage: \ndeployByCNS contractNameOrPath contractVersion");
@@ -543,6 +634,37 @@ public class HelpInfo {
         System.out.println("* account -- 20 Bytes - The address of a account.");
     }
 
+    public static void batchPermissionHelp() {
+        System.out.println(
+                "Grant or revoke the permission of the accounts in a file with concurrent transactions.");
+        System.out.println("Usage: \nbatchPermission operation addressFile [concurrency]");
+        System.out.println(
+                "batchPermission grantUserTableManager|revokeUserTableManager tableName addressFile [concurrency]");
+        System.out.println(
+                "batchPermission grantContractWritePermission|revokeContractWritePermission contractAddress addressFile [concurrency]");
+        System.out.println("* operation -- One of " + PermissionImpl.getBatchOperations() + ".");
+        System.out.println("* addressFile -- The file of the account addresses, one per line.");
+        System.out.println(
+                "* concurrency -- (optional) The number of the transactions sent concurrently, default is "
+                        + Common.DefaultPermissionConcurrency
+                        + ", at most "
+                        + Common.MaxPermissionConcurrency
+                        + ".");
+    }
+
+    public static void permissionSnapshotHelp() {
+        System.out.println(
+                "Query all the permission lists concurrently and print them as one JSON document sorted for diffing.");
+        System.out.println(
+                "Usage: \npermissionSnapshot [--tables tableName1,tableName2,...] [--contracts contractAddress1,contractAddress2,...] [outFile]");
+        System.out.println(
+                "* --tables -- (optional) The tables to include the user table managers of.");
+        System.out.println(
+                "* --contracts -- (optional) The contracts to include the write permissions of.");
+        System.out.println(
+                "* outFile -- (optional) The file to write the snapshot to, printed if it is not provided.");
+    }
+
     public static void setSystemConfigByKeyHelp() {
         System.out.println("Set a system config.");
         System.out.println("Usage: \nsetSystemConfigByKey key value");
@@ -610,6 +732,38 @@ public class HelpInfo {
         System.out.println("* tableName -- The name of the table.");
     }
 
+    public static void importTableHelp() {
+        System.out.println("Insert the records of a CSV file into the table.");
+        System.out.println("Usage: \nimportTable tableName csvFile [concurrency]");
+        System.out.println("* tableName -- The name of the table.");
+        System.out.println(
+                "* csvFile -- The CSV file of the records, the first line is the header if it names all the fields of the table, otherwise the fields of each line are the key and the value fields in the order of the table.");
+        System.out.println(
+                "* concurrency -- [Optional] The number of the records inserted concurrently, default is "
+                        + Common.DefaultImportConcurrency
+                        + ", at most "
+                        + Common.MaxImportConcurrency
+                        + ".");
+    }
+
+    public static void exportTableHelp() {
+        System.out.println(
+                "Export the records of the keys in the table to a CSV or JSON Lines file.");
+        System.out.println("Usage: \nexportTable tableName keyFile outFile [concurrency]");
+        System.out.println("exportTable tableName --keys key1,key2,... outFile [concurrency]");
+        System.out.println("* tableName -- The name of the table.");
+        System.out.println("* keyFile -- The file of the keys to export, one key per line.");
+        System.out.println("* --keys -- The keys to export, separated by commas.");
+        System.out.println(
+                "* outFile -- The file to write the records to, in CSV with a header if it ends with .csv, otherwise in JSON Lines.");
+        System.out.println(
+                "* concurrency -- [Optional] The number of the keys selected concurrently, default is "
+                        + Common.DefaultExportConcurrency
+                        + ", at most "
+                        + Common.MaxExportConcurrency
+                        + ".");
+    }
+
     public static void promptNoFunc(String contractName, String funcName, int lenParams) {
         if (lenParams <= 1) {
             System.out.println(
@@ -688,6 +842,19 @@ public class HelpInfo {
                 "* count -- (optional) The count of the required transaction receipts (default fetch all the receipts), when set to -1, return all receipts of the block.");
     }
 
+    public static void metricsHelp() {
+        System.out.println(
+                "Show the number of calls, the errors and the time cost of the commands, split into the total time and the time spent in the RPCs, the compiler and the JSON formatting.");
+        System.out.println("Usage: \nmetrics [reset|prometheus|dump outFile [interval]|dump off]");
+        System.out.println("* reset -- (optional) Clear the metrics.");
+        System.out.println("* prometheus -- (optional) Print the metrics in Prometheus text format.");
+        System.out.println(
+                "* dump outFile [interval] -- (optional) Write the metrics in Prometheus text format to outFile every interval seconds (default is "
+                        + Common.DefaultMetricsDumpInterval
+                        + ").");
+        System.out.println("* dump off -- (optional) Stop writing the metrics to the file.");
+    }
+
     public static void startHelp() {
         System.out.println("Please provide one of the following ways to start the console.");
         System.out.println("Usage: ");
@@ -15,11 +15,12 @@ public class Common {
     public static int ConsensusTimeoutMin = 3;
     public static int ConsensusTimeoutMax = Integer.MAX_VALUE / 1000;
 
-    public static final int InvalidReturnNumber = -100;
     public static final long InvalidLongValue = Long.MAX_VALUE;
 
     public static final int QueryLogCount = 20;
-    public static final int LogMaxCount = 10000;
+    // in bytes
+    public static final long DeployLogMaxSegmentSize = 1024 * 1024;
+    public static final int DeployLogMaxSegments = 10;
     public static final String GroupIDRange = "from 1 to 32767";
     public static final String PositiveIntegerRange = "from 1 to 2147483647";
     public static final String NonNegativeIntegerRange = "from 0 to 2147483647";
@@ -37,5 +38,28 @@ public class Common {
     public static final int TxGasLimitMin = 100000;
 
     public static final int MaxGroupID = 32767;
+    public static final int MaxBenchCount = 1000000;
+    public static final int MaxBenchConcurrency = 1000;
+    public static final int DefaultScanConcurrency = 10;
+    public static final int MaxScanConcurrency = 100;
+    public static final int MaxQueryGroupsConcurrency = 32;
+    public static final int MaxQueryGroupsColumnWidth = 100;
+    public static final int DefaultMonitorWindow = 10;
+    public static final int DefaultImportConcurrency = 10;
+    public static final int MaxImportConcurrency = 100;
+    public static final int DefaultExportConcurrency = 10;
+    public static final int MaxExportConcurrency = 100;
+    public static final int DefaultPermissionConcurrency = 10;
+    public static final int MaxPermissionConcurrency = 100;
+    // in seconds
+    public static final int DefaultMetricsDumpInterval = 15;
+    // in milliseconds
+    public static final long NodeVersionCacheTTL = 60 * 1000;
+    public static final long TableDescCacheTTL = 60 * 1000;
+    public static final int StatementCacheSize = 256;
+    // the records of a page of the select result shown at a time
+    public static final int SelectPageSize = 100;
+    // the records selected at a time when the result is not paged to the user
+    public static final int SelectFetchSize = 1000;
     public static int SYS_TABLE_KEY_MAX_LENGTH = 48;
 }
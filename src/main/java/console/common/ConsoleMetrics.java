@@ -0,0 +1,340 @@
+package console.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.client.Client;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counters and latency histograms of the commands, split into the total time and the time spent
+ * in the RPCs, the compiler and the JSON formatting. The stages are attributed to the command
+ * running on the current thread, the workers of a command are created by newFixedThreadPool or
+ * wrapped by withCommand to carry the command.
+ */
+public class ConsoleMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(ConsoleMetrics.class);
+
+    public static final String STAGE_TOTAL = "total";
+    public static final String STAGE_RPC = "rpc";
+    public static final String STAGE_COMPILE = "compile";
+    public static final String STAGE_FORMAT = "format";
+    // the stages recorded out of any command, e.g. by the completers
+    private static final String NO_COMMAND = "none";
+
+    // upper bounds of the histogram buckets in seconds
+    private static final double[] BUCKETS = {
+        0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30
+    };
+    // the methods of Client which do not send requests to the node
+    private static final List<String> LOCAL_METHODS =
+            Arrays.asList(
+                    "getCryptoSuite",
+                    "getCryptoType",
+                    "getGroupId",
+                    "getChainId",
+                    "stop",
+                    "hashCode",
+                    "equals",
+                    "toString");
+
+    private static final Map<String, CommandMetrics> commandMetrics = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> currentCommand = new ThreadLocal<>();
+    private static ScheduledExecutorService dumpExecutor;
+    private static String dumpFile;
+
+    private static class CommandMetrics {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<String, Histogram> stages = new ConcurrentHashMap<>();
+    }
+
+    private static class Histogram {
+        private final long[] bucketCounts = new long[BUCKETS.length];
+        private long count;
+        private long sumNanos;
+        private long maxNanos;
+
+        private synchronized void observe(long nanos) {
+            double seconds = nanos / 1e9;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                if (seconds <= BUCKETS[i]) {
+                    bucketCounts[i]++;
+                    break;
+                }
+            }
+            count++;
+            sumNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+    }
+
+    /** @return the command running on the current thread before, to be passed to endCommand */
+    public static String beginCommand(String command) {
+        String previous = currentCommand.get();
+        currentCommand.set(command);
+        return previous;
+    }
+
+    public static void endCommand(String previous, long startNanos, boolean success) {
+        String command = currentCommand.get();
+        CommandMetrics metrics = getCommandMetrics(command);
+        metrics.calls.incrementAndGet();
+        if (!success) {
+            metrics.errors.incrementAndGet();
+        }
+        record(STAGE_TOTAL, startNanos);
+        if (previous == null) {
+            currentCommand.remove();
+        } else {
+            currentCommand.set(previous);
+        }
+    }
+
+    public static void record(String stage, long startNanos) {
+        getCommandMetrics(currentCommand.get())
+                .stages
+                .computeIfAbsent(stage, key -> new Histogram())
+                .observe(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return a pool whose threads record the stages under the command of the current thread, the
+     *     threads are named after the command and don't keep the console alive
+     */
+    public static ExecutorService newFixedThreadPool(int threads) {
+        String command = currentCommand.get();
+        String namePrefix = (command == null ? NO_COMMAND : command) + "-worker-";
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(
+                threads,
+                runnable -> {
+                    Thread thread =
+                            new Thread(
+                                    () -> {
+                                        currentCommand.set(command);
+                                        runnable.run();
+                                    },
+                                    namePrefix + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /** @return the task recording the stages under the command of the current thread */
+    public static <T> Callable<T> withCommand(Callable<T> task) {
+        String command = currentCommand.get();
+        return () -> {
+            String previous = currentCommand.get();
+            currentCommand.set(command);
+            try {
+                return task.call();
+            } finally {
+                currentCommand.set(previous);
+            }
+        };
+    }
+
+    private static CommandMetrics getCommandMetrics(String command) {
+        return commandMetrics.computeIfAbsent(
+                command == null ? NO_COMMAND : command, key -> new CommandMetrics());
+    }
+
+    /** @return the client recording the time cost of the requests sent to the node */
+    public static Client instrument(Client client) {
+        if (Proxy.isProxyClass(client.getClass())) {
+            return client;
+        }
+        InvocationHandler handler = (proxy, method, args) -> invoke(client, method, args);
+        return (Client)
+                Proxy.newProxyInstance(
+                        Client.class.getClassLoader(), new Class<?>[] {Client.class}, handler);
+    }
+
+    private static Object invoke(Client client, Method method, Object[] args) throws Throwable {
+        // the async methods return as soon as the request is sent
+        boolean timed =
+                !LOCAL_METHODS.contains(method.getName()) && !method.getName().endsWith("Async");
+        long startTime = System.nanoTime();
+        try {
+            return method.invoke(client, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        } finally {
+            if (timed) {
+                record(STAGE_RPC, startTime);
+            }
+        }
+    }
+
+    public static void reset() {
+        commandMetrics.clear();
+    }
+
+    public static void printMetrics() {
+        List<String> commands = new ArrayList<>(commandMetrics.keySet());
+        if (commands.isEmpty()) {
+            System.out.println("Empty set.");
+            return;
+        }
+        Collections.sort(commands);
+        String format = "%-36s%-10s%10s%10s%12s%12s";
+        System.out.println(
+                String.format(format, "command", "stage", "count", "errors", "avg(ms)", "max(ms)"));
+        for (String command : commands) {
+            CommandMetrics metrics = commandMetrics.get(command);
+            List<String> stages = new ArrayList<>(metrics.stages.keySet());
+            Collections.sort(stages);
+            for (String stage : stages) {
+                Histogram histogram = metrics.stages.get(stage);
+                synchronized (histogram) {
+                    System.out.println(
+                            String.format(
+                                    format,
+                                    command,
+                                    stage,
+                                    histogram.count,
+                                    STAGE_TOTAL.equals(stage) ? metrics.errors.get() : "",
+                                    String.format(
+                                            "%.2f",
+                                            histogram.sumNanos
+                                                    / 1e6
+                                                    / Math.max(1, histogram.count)),
+                                    String.format("%.2f", histogram.maxNanos / 1e6)));
+                }
+            }
+        }
+    }
+
+    /** @return the metrics in the Prometheus text format */
+    public static String toPrometheus() {
+        List<String> commands = new ArrayList<>(commandMetrics.keySet());
+        Collections.sort(commands);
+        StringBuilder calls = new StringBuilder();
+        StringBuilder errors = new StringBuilder();
+        StringBuilder durations = new StringBuilder();
+        calls.append("# HELP console_command_total The number of the executed commands.\n");
+        calls.append("# TYPE console_command_total counter\n");
+        errors.append("# HELP console_command_errors_total The number of the failed commands.\n");
+        errors.append("# TYPE console_command_errors_total counter\n");
+        durations.append(
+                "# HELP console_command_duration_seconds The time cost of the commands by stage.\n");
+        durations.append("# TYPE console_command_duration_seconds histogram\n");
+        for (String command : commands) {
+            CommandMetrics metrics = commandMetrics.get(command);
+            String commandLabel = "command=\"" + escapeLabel(command) + "\"";
+            calls.append("console_command_total{")
+                    .append(commandLabel)
+                    .append("} ")
+                    .append(metrics.calls.get())
+                    .append('\n');
+            errors.append("console_command_errors_total{")
+                    .append(commandLabel)
+                    .append("} ")
+                    .append(metrics.errors.get())
+                    .append('\n');
+            List<String> stages = new ArrayList<>(metrics.stages.keySet());
+            Collections.sort(stages);
+            for (String stage : stages) {
+                String labels = commandLabel + ",stage=\"" + stage + "\"";
+                Histogram histogram = metrics.stages.get(stage);
+                synchronized (histogram) {
+                    long cumulativeCount = 0;
+                    for (int i = 0; i < BUCKETS.length; i++) {
+                        cumulativeCount += histogram.bucketCounts[i];
+                        appendSample(
+                                durations,
+                                "_bucket",
+                                labels + ",le=\"" + BUCKETS[i] + "\"",
+                                String.valueOf(cumulativeCount));
+                    }
+                    appendSample(
+                            durations,
+                            "_bucket",
+                            labels + ",le=\"+Inf\"",
+                            String.valueOf(histogram.count));
+                    appendSample(
+                            durations, "_sum", labels, String.valueOf(histogram.sumNanos / 1e9));
+                    appendSample(durations, "_count", labels, String.valueOf(histogram.count));
+                }
+            }
+        }
+        return calls.append(errors).append(durations).toString();
+    }
+
+    private static void appendSample(
+            StringBuilder builder, String suffix, String labels, String value) {
+        builder.append("console_command_duration_seconds")
+                .append(suffix)
+                .append('{')
+                .append(labels)
+                .append("} ")
+                .append(value)
+                .append('\n');
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /** write the metrics to the file every interval seconds until stopDump */
+    public static synchronized void startDump(String file, int intervalSeconds) {
+        stopDump();
+        dumpFile = file;
+        dumpExecutor =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "metrics-dump");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        dumpExecutor.scheduleAtFixedRate(() -> dump(file), 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public static synchronized void stopDump() {
+        if (dumpExecutor != null) {
+            dumpExecutor.shutdownNow();
+            dumpExecutor = null;
+            dumpFile = null;
+        }
+    }
+
+    public static synchronized String getDumpFile() {
+        return dumpFile;
+    }
+
+    private static void dump(String file) {
+        try {
+            File target = new File(file);
+            if (target.getAbsoluteFile().getParentFile() != null) {
+                target.getAbsoluteFile().getParentFile().mkdirs();
+            }
+            // replace the file at once so that a scraper never reads a partial file
+            File tempFile = new File(file + ".tmp");
+            Files.write(tempFile.toPath(), toPrometheus().getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn(" dump metrics to {} failed, e: {}", file, e);
+        }
+    }
+}
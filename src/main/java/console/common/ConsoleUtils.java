@@ -5,11 +5,16 @@ import console.contract.model.AbiAndBin;
 import console.contract.utils.ContractCompiler;
 import console.exception.ConsoleMessageException;
 import io.netty.util.NetUtil;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.io.Reader;
 import java.io.StreamTokenizer;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -22,6 +27,9 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -36,12 +44,17 @@ import org.fisco.bcos.sdk.client.Client;
 import org.fisco.bcos.sdk.codegen.CodeGenMain;
 import org.fisco.bcos.sdk.utils.Host;
 import org.fisco.bcos.sdk.utils.Numeric;
+import org.jline.reader.EndOfFileException;
+import org.jline.reader.LineReader;
+import org.jline.reader.UserInterruptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ConsoleUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(ConsoleUtils.class);
+    // CodeGenMain is not documented as thread safe, the conversions to java are serialized
+    private static final Object codeGenLock = new Object();
 
     public static final String SOLIDITY_PATH = "contracts/solidity/";
     public static final String JAVA_PATH = "contracts/sdk/java/";
@@ -52,19 +65,97 @@ public class ConsoleUtils {
     public static final int ADDRESS_SIZE = 160;
     public static final int ADDRESS_LENGTH_IN_HEX = ADDRESS_SIZE >> 2;
 
+    public static final String COMPACT_JSON_PROPERTY = "console.json.compact";
+    private static volatile boolean compactJson = Boolean.getBoolean(COMPACT_JSON_PROPERTY);
+    private static volatile LineReader promptReader;
+    private static volatile ResultSink resultSink = new TextResultSink();
+
+    public static boolean isCompactJson() {
+        return compactJson;
+    }
+
+    /** print the json in one line instead of indented, e.g. for JSON Lines output */
+    public static void setCompactJson(boolean compactJson) {
+        ConsoleUtils.compactJson = compactJson;
+    }
+
+    public static boolean isInteractive() {
+        return promptReader != null;
+    }
+
+    /**
+     * the commands may prompt the user through the line reader of the console, which owns the
+     * terminal, e.g. for the next page of the select result
+     */
+    public static void setPromptReader(LineReader promptReader) {
+        ConsoleUtils.promptReader = promptReader;
+    }
+
+    /** @return the line entered by the user, null if the input is ended or interrupted */
+    public static String readPromptLine(String prompt) {
+        try {
+            return promptReader.readLine(prompt);
+        } catch (UserInterruptException | EndOfFileException e) {
+            return null;
+        }
+    }
+
+    public static ResultSink getResultSink() {
+        return resultSink;
+    }
+
+    /** the sink of the command results, the text sink by default */
+    public static void setResultSink(ResultSink resultSink) {
+        ConsoleUtils.resultSink = resultSink;
+    }
+
+    /** @return the buffered writer of System.out, it must be flushed but not closed */
+    public static Writer newOutputWriter() {
+        return newOutputWriter(System.out);
+    }
+
+    /** @return the buffered writer of the stream, it must be flushed but not closed */
+    public static Writer newOutputWriter(PrintStream printStream) {
+        return new BufferedWriter(new PrintStreamWriter(printStream));
+    }
+
+    /** write the JSON result of the command to the result sink */
     public static void printJson(String jsonStr) {
-        System.out.println(formatJson(jsonStr));
+        resultSink.json(jsonStr);
+    }
+
+    /** write a line of the result of the command to the result sink */
+    public static void printResult(String result) {
+        resultSink.text(result);
     }
 
     public static String formatJson(String jsonStr) {
-        if (null == jsonStr || "".equals(jsonStr)) return "";
-        jsonStr = jsonStr.replace("\\n", "");
-        StringBuilder sb = new StringBuilder();
+        StringWriter writer = new StringWriter();
+        try {
+            writeJson(jsonStr, writer, false);
+        } catch (IOException e) {
+            // StringWriter does not throw
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Format the json while scanning it, the literal "\\n" is dropped, the json is indented unless
+     * compact is set.
+     */
+    public static void writeJson(String jsonStr, Writer out, boolean compact)
+            throws IOException {
+        if (null == jsonStr || "".equals(jsonStr)) return;
         char last = '\0';
         char current = '\0';
         int indent = 0;
         boolean isInQuotationMarks = false;
-        for (int i = 0; i < jsonStr.length(); i++) {
+        int length = jsonStr.length();
+        for (int i = 0; i < length; i++) {
+            if (jsonStr.charAt(i) == '\\' && i + 1 < length && jsonStr.charAt(i + 1) == 'n') {
+                i++;
+                continue;
+            }
             last = current;
             current = jsonStr.charAt(i);
             switch (current) {
@@ -72,61 +163,79 @@ public class ConsoleUtils {
                     if (last != '\\') {
                         isInQuotationMarks = !isInQuotationMarks;
                     }
-                    sb.append(current);
+                    out.write(current);
                     break;
                 case '{':
                 case '[':
-                    sb.append(current);
+                    out.write(current);
                     if (!isInQuotationMarks) {
-                        sb.append('\n');
                         indent++;
-                        addIndentBlank(sb, indent);
+                        writeNewLine(out, indent, compact);
                     }
                     break;
                 case '}':
                 case ']':
                     if (!isInQuotationMarks) {
-                        sb.append('\n');
                         indent--;
-                        addIndentBlank(sb, indent);
+                        writeNewLine(out, indent, compact);
                     }
-                    sb.append(current);
+                    out.write(current);
                     break;
                 case ',':
-                    sb.append(current);
+                    out.write(current);
                     if (last != '\\' && !isInQuotationMarks) {
-                        sb.append('\n');
-                        addIndentBlank(sb, indent);
+                        writeNewLine(out, indent, compact);
                     }
                     break;
                 case ' ':
-                    if (',' != jsonStr.charAt(i - 1)) {
-                        sb.append(current);
+                    if (',' != last) {
+                        out.write(current);
                     }
                     break;
-                case '\\':
-                    sb.append("\\");
-                    break;
                 default:
-                    if (!(current == " ".charAt(0))) sb.append(current);
+                    out.write(current);
             }
         }
-
-        return sb.toString();
     }
 
-    private static void addIndentBlank(StringBuilder sb, int indent) {
+    private static void writeNewLine(Writer out, int indent, boolean compact) throws IOException {
+        if (compact) {
+            return;
+        }
+        out.write('\n');
         for (int i = 0; i < indent; i++) {
-            sb.append("    ");
+            out.write("    ");
         }
     }
 
-    public static boolean isInvalidHash(String hash) {
-        if (hash.matches("^0x[0-9a-fA-F]{64}$")) {
-            return false;
-        } else {
-            System.out.println("Please provide a valid hash.");
-            return true;
+    /** keeps the encoding of the PrintStream, which may be replaced by System.setOut */
+    private static class PrintStreamWriter extends Writer {
+        private final PrintStream printStream;
+
+        private PrintStreamWriter(PrintStream printStream) {
+            this.printStream = printStream;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            printStream.print(new String(cbuf, off, len));
+        }
+
+        @Override
+        public void flush() {
+            printStream.flush();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+
+    /** throw ConsoleMessageException if the hash is invalid */
+    public static void checkHash(String hash) throws ConsoleMessageException {
+        if (!hash.matches("^0x[0-9a-fA-F]{64}$")) {
+            throw new ConsoleMessageException("Please provide a valid hash.");
         }
     }
 
@@ -160,37 +269,38 @@ public class ConsoleUtils {
         }
     }
 
-    public static int proccessNonNegativeNumber(String name, String intStr) {
+    public static int proccessNonNegativeNumber(String name, String intStr)
+            throws ConsoleMessageException {
         return proccessNonNegativeNumber(name, intStr, 0, Integer.MAX_VALUE);
     }
 
+    /** @throws ConsoleMessageException if the number is invalid or out of the range */
     public static int proccessNonNegativeNumber(
-            String name, String intStr, Integer minValue, Integer maxValue) {
+            String name, String intStr, Integer minValue, Integer maxValue)
+            throws ConsoleMessageException {
+        String rangeMessage =
+                "Please provide \""
+                        + name
+                        + "\" by non-negative integer mode between "
+                        + minValue
+                        + " and "
+                        + maxValue
+                        + ".";
         int intParam = 0;
         try {
             intParam = Integer.parseInt(intStr);
-            if (intParam < minValue || (maxValue > minValue && intParam > maxValue)) {
-                System.out.println(
-                        "Please provide \""
-                                + name
-                                + "\" by non-negative integer mode between "
-                                + minValue
-                                + " and "
-                                + maxValue
-                                + ".");
-                return Common.InvalidReturnNumber;
-            }
         } catch (NumberFormatException e) {
-            System.out.println("Invalid " + name + ": \"" + intStr + "\"!");
-            System.out.println(
-                    "Please provide \""
+            throw new ConsoleMessageException(
+                    "Invalid "
                             + name
-                            + "\" by non-negative integer mode between "
-                            + minValue
-                            + " and "
-                            + maxValue
-                            + ".");
-            return Common.InvalidReturnNumber;
+                            + ": \""
+                            + intStr
+                            + "\"!"
+                            + System.lineSeparator()
+                            + rangeMessage);
+        }
+        if (intParam < minValue || (maxValue > minValue && intParam > maxValue)) {
+            throw new ConsoleMessageException(rangeMessage);
         }
         return intParam;
     }
@@ -219,8 +329,14 @@ public class ConsoleUtils {
                 address.setAddress(addressStr);
             }
         }
+        return address;
+    }
+
+    /** @return the valid address, ConsoleMessageException if the address is invalid */
+    public static Address checkAddress(String addressStr) throws ConsoleMessageException {
+        Address address = convertAddress(addressStr);
         if (!address.isValid()) {
-            System.out.println("Please provide a valid address.");
+            throw new ConsoleMessageException("Please provide a valid address.");
         }
         return address;
     }
@@ -257,14 +373,28 @@ public class ConsoleUtils {
             String binDir,
             String librariesOption)
             throws IOException, CompileContractException {
+        compileSolToJava(
+                javaDir, packageName, solFile, abiDir, binDir, librariesOption, System.out);
+    }
+
+    /** @param out the stream of the messages, so that the concurrent conversions don't mix them */
+    private static void compileSolToJava(
+            String javaDir,
+            String packageName,
+            File solFile,
+            String abiDir,
+            String binDir,
+            String librariesOption,
+            PrintStream out)
+            throws IOException, CompileContractException {
 
         String contractName = solFile.getName().split("\\.")[0];
 
         /** ecdsa compile */
-        System.out.println("*** Compile solidity " + solFile.getName() + "*** ");
+        out.println("*** Compile solidity " + solFile.getName() + "*** ");
         AbiAndBin abiAndBin =
                 ContractCompiler.compileSolToBinAndAbi(solFile, abiDir, binDir, librariesOption);
-        System.out.println("INFO: Compile for solidity " + solFile.getName() + " success.");
+        out.println("INFO: Compile for solidity " + solFile.getName() + " success.");
 
         FileUtils.writeStringToFile(new File(abiDir + contractName + ".abi"), abiAndBin.getAbi());
         FileUtils.writeStringToFile(new File(binDir + contractName + ".bin"), abiAndBin.getBin());
@@ -277,26 +407,47 @@ public class ConsoleUtils {
         String abiFile = abiDir + contractName + ".abi";
         String binFile = binDir + contractName + ".bin";
         String smBinFile = binDir + "/sm/" + contractName + ".bin";
-        CodeGenMain.main(
-                Arrays.asList(
-                                "-a", abiFile,
-                                "-b", binFile,
-                                "-s", smBinFile,
-                                "-p", packageName,
-                                "-o", javaDir)
-                        .toArray(new String[0]));
-        System.out.println(
-                "*** Convert solidity to java  for " + solFile.getName() + " success ***\n");
+        synchronized (codeGenLock) {
+            CodeGenMain.main(
+                    Arrays.asList(
+                                    "-a", abiFile,
+                                    "-b", binFile,
+                                    "-s", smBinFile,
+                                    "-p", packageName,
+                                    "-o", javaDir)
+                            .toArray(new String[0]));
+        }
+        out.println("*** Convert solidity to java  for " + solFile.getName() + " success ***\n");
     }
 
     public static void compileAllSolToJava(
             String javaDir, String packageName, File solFileList, String abiDir, String binDir)
             throws IOException {
+        compileAllSolToJava(
+                javaDir,
+                packageName,
+                solFileList,
+                abiDir,
+                binDir,
+                Runtime.getRuntime().availableProcessors(),
+                false);
+    }
+
+    public static void compileAllSolToJava(
+            String javaDir,
+            String packageName,
+            File solFileList,
+            String abiDir,
+            String binDir,
+            int threads,
+            boolean force)
+            throws IOException {
         File[] solFiles = solFileList.listFiles();
-        if (solFiles.length == 0) {
+        if (solFiles == null || solFiles.length == 0) {
             System.out.println("The contracts directory is empty.");
             return;
         }
+        List<File> targets = new ArrayList<>();
         for (File solFile : solFiles) {
             if (!solFile.getName().endsWith(".sol")) {
                 continue;
@@ -305,18 +456,141 @@ public class ConsoleUtils {
             if (solFile.getName().startsWith("Lib")) {
                 continue;
             }
+            targets.add(solFile);
+        }
+        long startTime = System.currentTimeMillis();
+        ExecutorService executor = ConsoleMetrics.newFixedThreadPool(Math.max(1, threads));
+        List<Future<String>> results = new ArrayList<>();
+        // the messages of each file are printed in the order of the files
+        List<ByteArrayOutputStream> messages = new ArrayList<>();
+        for (File solFile : targets) {
+            ByteArrayOutputStream message = new ByteArrayOutputStream();
+            PrintStream out = new PrintStream(message, true);
+            messages.add(message);
+            results.add(
+                    executor.submit(
+                            () ->
+                                    compileSolToJavaIfChanged(
+                                            javaDir,
+                                            packageName,
+                                            solFile,
+                                            abiDir,
+                                            binDir,
+                                            force,
+                                            out)));
+        }
+        executor.shutdown();
+
+        int compiled = 0;
+        int skipped = 0;
+        int failed = 0;
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < targets.size(); i++) {
+            String status;
             try {
-                compileSolToJava(javaDir, packageName, solFile, abiDir, binDir, null);
-            } catch (Exception e) {
+                status = results.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                throw new IOException("convert solidity to java interrupted", e);
+            } catch (ExecutionException e) {
+                System.out.print(messages.get(i));
+                Throwable cause = e.getCause();
                 System.out.println(
                         "ERROR:convert solidity to java for "
-                                + solFile.getName()
+                                + targets.get(i).getName()
                                 + " failed, error info: "
-                                + e.getMessage());
+                                + cause.getMessage());
                 System.out.println("ERROR stack: ");
-                e.printStackTrace();
+                cause.printStackTrace();
+                status = "failed";
+            }
+            if (!status.equals("failed")) {
+                System.out.print(messages.get(i));
+            }
+            if (status.startsWith("compiled")) {
+                compiled++;
+            } else if (status.startsWith("skipped")) {
+                skipped++;
+            } else {
+                failed++;
             }
+            summary.append(String.format("%-40s %s%n", targets.get(i).getName(), status));
         }
+        singleLine();
+        System.out.print(summary);
+        singleLine();
+        System.out.println(
+                "compiled: "
+                        + compiled
+                        + ", skipped: "
+                        + skipped
+                        + ", failed: "
+                        + failed
+                        + ", threads: "
+                        + Math.max(1, threads)
+                        + ", time cost: "
+                        + (System.currentTimeMillis() - startTime)
+                        + " ms");
+    }
+
+    /** @return the compile status with its time cost, used by the summary */
+    private static String compileSolToJavaIfChanged(
+            String javaDir,
+            String packageName,
+            File solFile,
+            String abiDir,
+            String binDir,
+            boolean force,
+            PrintStream out)
+            throws IOException, CompileContractException {
+        long startTime = System.currentTimeMillis();
+        String contractName = solFile.getName().split("\\.")[0];
+        List<File> outputs =
+                getSolToJavaOutputs(javaDir, packageName, contractName, abiDir, binDir);
+        File stampFile = new File(abiDir + ".stamps/" + contractName + ".stamp");
+        String sourceKey = ContractCompiler.getSourceKey(solFile, null) + " " + packageName;
+        if (!force && stampFile.exists()) {
+            String stamp = FileUtils.readFileToString(stampFile);
+            if (stamp.equals(buildSolToJavaStamp(sourceKey, outputs))) {
+                return "skipped (" + (System.currentTimeMillis() - startTime) + " ms)";
+            }
+        }
+        compileSolToJava(javaDir, packageName, solFile, abiDir, binDir, null, out);
+        FileUtils.writeStringToFile(stampFile, buildSolToJavaStamp(sourceKey, outputs));
+        return "compiled (" + (System.currentTimeMillis() - startTime) + " ms)";
+    }
+
+    private static List<File> getSolToJavaOutputs(
+            String javaDir, String packageName, String contractName, String abiDir, String binDir) {
+        String className =
+                contractName.substring(0, 1).toUpperCase() + contractName.substring(1);
+        return Arrays.asList(
+                new File(abiDir + contractName + ".abi"),
+                new File(binDir + contractName + ".bin"),
+                new File(abiDir + "/sm/" + contractName + ".abi"),
+                new File(binDir + "/sm/" + contractName + ".bin"),
+                new File(
+                        javaDir
+                                + File.separator
+                                + packageName.replace('.', File.separatorChar)
+                                + File.separator
+                                + className
+                                + ".java"));
+    }
+
+    private static String buildSolToJavaStamp(String sourceKey, List<File> outputs) {
+        StringBuilder stamp = new StringBuilder(sourceKey).append('\n');
+        for (File output : outputs) {
+            // a missing output never matches a stamp written after a successful compile
+            stamp.append(output.getPath())
+                    .append(' ')
+                    .append(output.exists() ? output.length() : -1)
+                    .append(' ')
+                    .append(output.lastModified())
+                    .append('\n');
+        }
+        return stamp.toString();
     }
 
     private static class CommandTokenizer extends StreamTokenizer {
@@ -414,10 +688,8 @@ public class ConsoleUtils {
             String command, Client client, String enumMinSupportVersion, boolean printMessage) {
         try {
             EnumNodeVersion.Version minSupportVersion =
-                    EnumNodeVersion.getClassVersion(enumMinSupportVersion);
-            EnumNodeVersion.Version supportedVersion =
-                    EnumNodeVersion.getClassVersion(
-                            client.getClientNodeVersion().getNodeVersion().getSupportedVersion());
+                    NodeVersionCache.parse(enumMinSupportVersion);
+            EnumNodeVersion.Version supportedVersion = NodeVersionCache.getSupportedVersion(client);
             String errorMessage =
                     "The fisco bcos node with supported_version lower than "
                             + minSupportVersion.toVersionString()
@@ -592,6 +864,30 @@ public class ConsoleUtils {
         libraryOption.setRequired(false);
         options.addOption(libraryOption);
 
+        // parallel compile threads
+        String THREADS_OPTION = "threads";
+        int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+        Option threadsOption =
+                new Option(
+                        "t",
+                        THREADS_OPTION,
+                        true,
+                        "[Optional] The number of contracts compiled in parallel when converting a solidity directory, default is "
+                                + DEFAULT_THREADS);
+        threadsOption.setRequired(false);
+        options.addOption(threadsOption);
+
+        // disable the incremental compile
+        String FORCE_OPTION = "force";
+        Option forceOption =
+                new Option(
+                        "f",
+                        FORCE_OPTION,
+                        false,
+                        "[Optional] Recompile all the contracts, even those whose source and outputs are unchanged");
+        forceOption.setRequired(false);
+        options.addOption(forceOption);
+
         String HELP_OPTION = "help";
         Option helpOption = new Option("h", HELP_OPTION, false, "");
         helpOption.setRequired(false);
@@ -620,6 +916,18 @@ public class ConsoleUtils {
         String solPathOrDir = cmd.getOptionValue(SOL_OPTION, DEFAULT_SOL);
         String javaDir = cmd.getOptionValue(OUTPUT_OPTION, DEFAULT_OUTPUT);
         String librariesOption = cmd.getOptionValue(LIBS_OPTION, "");
+        int threads = DEFAULT_THREADS;
+        if (cmd.hasOption(THREADS_OPTION)) {
+            try {
+                threads = Integer.parseInt(cmd.getOptionValue(THREADS_OPTION));
+            } catch (NumberFormatException e) {
+                System.out.println(
+                        "Invalid threads: "
+                                + cmd.getOptionValue(THREADS_OPTION)
+                                + ", use "
+                                + threads);
+            }
+        }
 
         String fullJavaDir = new File(javaDir).getAbsolutePath();
         File sol = new File(solPathOrDir);
@@ -631,7 +939,14 @@ public class ConsoleUtils {
             if (sol.isFile()) { // input file
                 compileSolToJava(fullJavaDir, pkgName, sol, ABI_PATH, BIN_PATH, librariesOption);
             } else { // input dir
-                compileAllSolToJava(fullJavaDir, pkgName, sol, ABI_PATH, BIN_PATH);
+                compileAllSolToJava(
+                        fullJavaDir,
+                        pkgName,
+                        sol,
+                        ABI_PATH,
+                        BIN_PATH,
+                        threads,
+                        cmd.hasOption(FORCE_OPTION));
             }
         } catch (IOException | CompileContractException e) {
             System.out.print(e.getMessage());
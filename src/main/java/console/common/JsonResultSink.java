@@ -0,0 +1,174 @@
+package console.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.Map;
+import org.fisco.bcos.sdk.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes one JSON record per command in a line, {"command":...,"output":[...],"status":...,
+ * "timeCost":...}, with "error" added if the command failed and "errorCode" if the node or the SDK
+ * returned one. The results are written as they come
+ * instead of being kept until the command ends. The results written by the threads other than the
+ * one executing the command are not part of the record, they are printed as text to System.out.
+ */
+public class JsonResultSink implements ResultSink {
+    private static final Logger logger = LoggerFactory.getLogger(JsonResultSink.class);
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final TextResultSink textSink = new TextResultSink();
+    private final Writer writer;
+    private Thread commandThread;
+    private int outputCount;
+    private String error;
+    private Integer errorCode;
+
+    public JsonResultSink(PrintStream out) {
+        this.writer = ConsoleUtils.newOutputWriter(out);
+    }
+
+    @Override
+    public synchronized void begin(String command) {
+        if (commandThread != null) {
+            end(false, 0);
+        }
+        commandThread = Thread.currentThread();
+        outputCount = 0;
+        error = null;
+        errorCode = null;
+        write("{\"command\":" + quote(command) + ",\"output\":[");
+    }
+
+    @Override
+    public synchronized void json(String json) {
+        if (!isCommandThread()) {
+            textSink.json(json);
+            return;
+        }
+        long startTime = System.nanoTime();
+        try {
+            String trimmed = json == null ? "" : json.trim();
+            if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+                nextOutput();
+                ConsoleUtils.writeJson(trimmed, writer, true);
+            } else {
+                writeOutput(quote(trimmed));
+            }
+        } catch (IOException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        } finally {
+            ConsoleMetrics.record(ConsoleMetrics.STAGE_FORMAT, startTime);
+        }
+    }
+
+    @Override
+    public synchronized void record(Map<String, String> record) {
+        if (!isCommandThread()) {
+            textSink.record(record);
+            return;
+        }
+        try {
+            writeOutput(objectMapper.writeValueAsString(record));
+        } catch (JsonProcessingException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void text(String line) {
+        if (!isCommandThread()) {
+            textSink.text(line);
+            return;
+        }
+        writeOutput(quote(line));
+    }
+
+    @Override
+    public synchronized void error(String message) {
+        if (!isCommandThread()) {
+            textSink.error(message);
+            return;
+        }
+        error = error == null ? message : error + System.lineSeparator() + message;
+    }
+
+    @Override
+    public synchronized void error(int code, String message) {
+        if (!isCommandThread()) {
+            textSink.error(code, message);
+            return;
+        }
+        errorCode = code;
+        error(message);
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void end(boolean success, long timeCost) {
+        if (commandThread == null) {
+            return;
+        }
+        StringBuilder trailer = new StringBuilder("],\"status\":");
+        trailer.append(success ? "\"success\"" : "\"failed\"");
+        if (error != null) {
+            trailer.append(",\"error\":").append(quote(error));
+        }
+        if (errorCode != null) {
+            trailer.append(",\"errorCode\":").append(errorCode);
+        }
+        trailer.append(",\"timeCost\":").append(timeCost).append('}');
+        trailer.append(System.lineSeparator());
+        write(trailer.toString());
+        flush();
+        commandThread = null;
+    }
+
+    private boolean isCommandThread() {
+        return commandThread == Thread.currentThread();
+    }
+
+    private void nextOutput() throws IOException {
+        if (outputCount++ > 0) {
+            writer.write(',');
+        }
+    }
+
+    private void writeOutput(String output) {
+        try {
+            nextOutput();
+            writer.write(output);
+        } catch (IOException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        }
+    }
+
+    private void write(String text) {
+        try {
+            writer.write(text);
+        } catch (IOException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        }
+    }
+
+    private String quote(String text) {
+        try {
+            return objectMapper.writeValueAsString(text);
+        } catch (JsonProcessingException e) {
+            // a String is always serializable
+            return "null";
+        }
+    }
+}
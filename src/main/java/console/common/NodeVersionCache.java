@@ -0,0 +1,87 @@
+package console.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.fisco.bcos.sdk.channel.model.ChannelPrococolExceiption;
+import org.fisco.bcos.sdk.channel.model.EnumNodeVersion;
+import org.fisco.bcos.sdk.client.Client;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The supported version of the nodes of each group, so that checking the version of a command does
+ * not cost an RPC. An entry is refreshed after Common.NodeVersionCacheTTL or when the group is
+ * switched to.
+ */
+public class NodeVersionCache {
+    private static final Logger logger = LoggerFactory.getLogger(NodeVersionCache.class);
+
+    private static final Map<Integer, CachedVersion> groupVersions = new ConcurrentHashMap<>();
+    // the versions parsed from strings, e.g. the minSupportVersion of the commands
+    private static final Map<String, EnumNodeVersion.Version> parsedVersions =
+            new ConcurrentHashMap<>();
+    private static final ExecutorService refreshExecutor =
+            Executors.newSingleThreadExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "node-version-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private static class CachedVersion {
+        private final EnumNodeVersion.Version supportedVersion;
+        private final long expireTime;
+
+        private CachedVersion(EnumNodeVersion.Version supportedVersion, long expireTime) {
+            this.supportedVersion = supportedVersion;
+            this.expireTime = expireTime;
+        }
+    }
+
+    public static EnumNodeVersion.Version parse(String version) throws ChannelPrococolExceiption {
+        EnumNodeVersion.Version parsedVersion = parsedVersions.get(version);
+        if (parsedVersion == null) {
+            parsedVersion = EnumNodeVersion.getClassVersion(version);
+            parsedVersions.put(version, parsedVersion);
+        }
+        return parsedVersion;
+    }
+
+    public static EnumNodeVersion.Version getSupportedVersion(Client client)
+            throws ChannelPrococolExceiption {
+        CachedVersion cachedVersion = groupVersions.get(client.getGroupId());
+        if (cachedVersion != null && System.currentTimeMillis() < cachedVersion.expireTime) {
+            return cachedVersion.supportedVersion;
+        }
+        return load(client);
+    }
+
+    private static EnumNodeVersion.Version load(Client client) throws ChannelPrococolExceiption {
+        EnumNodeVersion.Version supportedVersion =
+                parse(client.getClientNodeVersion().getNodeVersion().getSupportedVersion());
+        groupVersions.put(
+                client.getGroupId(),
+                new CachedVersion(
+                        supportedVersion,
+                        System.currentTimeMillis() + Common.NodeVersionCacheTTL));
+        return supportedVersion;
+    }
+
+    /** reload the version of the group in the background, e.g. after switching to the group */
+    public static void refresh(Client client) {
+        groupVersions.remove(client.getGroupId());
+        refreshExecutor.execute(
+                () -> {
+                    try {
+                        load(client);
+                    } catch (Exception e) {
+                        logger.warn(
+                                " refresh the node version of group {} failed, e: {}",
+                                client.getGroupId(),
+                                e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,37 @@
+package console.common;
+
+import java.io.Flushable;
+import java.util.Map;
+
+/**
+ * The sink of the results of the commands. The commands write their results here instead of
+ * System.out, the text sink prints them for the user and the JSON sink writes one JSON record per
+ * command. The other messages of the commands, e.g. the hints and the progress, are still printed
+ * to System.out.
+ */
+public interface ResultSink extends Flushable {
+    /** start the result of the command */
+    void begin(String command);
+
+    /** a JSON value returned by the command, e.g. a block */
+    void json(String json);
+
+    /** a record of named values, e.g. a row of a table */
+    void record(Map<String, String> record);
+
+    /** a line of text returned by the command, e.g. the block number */
+    void text(String line);
+
+    /** the reason why the command failed */
+    void error(String message);
+
+    /** the error code and the message of the node or the SDK when the command failed */
+    void error(int code, String message);
+
+    /** write out the buffered records, e.g. before prompting the user */
+    @Override
+    void flush();
+
+    /** end the result of the command */
+    void end(boolean success, long timeCost);
+}
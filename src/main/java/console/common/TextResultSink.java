@@ -0,0 +1,104 @@
+package console.common;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import org.fisco.bcos.sdk.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prints the results as text to System.out. The records are buffered until flush, the other
+ * results are flushed at once to keep their order with the messages printed to System.out.
+ */
+public class TextResultSink implements ResultSink {
+    private static final Logger logger = LoggerFactory.getLogger(TextResultSink.class);
+
+    // the writer of the System.out of the current command, which may be replaced by System.setOut
+    private Writer writer;
+
+    @Override
+    public synchronized void begin(String command) {
+        flush();
+        writer = null;
+    }
+
+    @Override
+    public synchronized void json(String json) {
+        long startTime = System.nanoTime();
+        try {
+            Writer out = getWriter();
+            ConsoleUtils.writeJson(json, out, ConsoleUtils.isCompactJson());
+            out.write(System.lineSeparator());
+            out.flush();
+        } catch (IOException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        } finally {
+            ConsoleMetrics.record(ConsoleMetrics.STAGE_FORMAT, startTime);
+        }
+    }
+
+    @Override
+    public synchronized void record(Map<String, String> record) {
+        try {
+            Writer out = getWriter();
+            out.write(record.toString());
+            out.write(System.lineSeparator());
+        } catch (IOException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void text(String line) {
+        try {
+            Writer out = getWriter();
+            out.write(line);
+            out.write(System.lineSeparator());
+            out.flush();
+        } catch (IOException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void error(String message) {
+        text(message);
+        text("");
+    }
+
+    @Override
+    public synchronized void error(int code, String message) {
+        ObjectNode error = ObjectMapperFactory.getObjectMapper().createObjectNode();
+        error.put("code", code);
+        error.put("msg", message);
+        json(error.toString());
+        text("");
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void end(boolean success, long timeCost) {
+        flush();
+        writer = null;
+    }
+
+    private Writer getWriter() {
+        if (writer == null) {
+            writer = ConsoleUtils.newOutputWriter();
+        }
+        return writer;
+    }
+}
@@ -7,6 +7,12 @@ public interface ConsoleContractFace {
 
     void call(String[] params) throws Exception;
 
+    void benchCall(String[] params) throws Exception;
+
+    void txMode(String[] params) throws ConsoleMessageException;
+
+    void receipts(String[] params);
+
     void deployByCNS(String[] params) throws ConsoleMessageException;
 
     void callByCNS(String[] params) throws Exception;
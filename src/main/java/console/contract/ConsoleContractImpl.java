@@ -4,19 +4,19 @@ import static org.fisco.solc.compiler.SolidityCompiler.Options.ABI;
 
 import console.common.Address;
 import console.common.Common;
+import console.common.ConsoleMetrics;
 import console.common.ConsoleUtils;
 import console.common.StatusCodeLink;
 import console.contract.exceptions.CompileContractException;
 import console.contract.model.AbiAndBin;
+import console.contract.utils.AsyncTransactionTracker;
+import console.contract.utils.ContractAbiCache;
 import console.contract.utils.ContractCompiler;
+import console.contract.utils.DeployLog;
 import console.exception.CompileSolidityException;
 import console.exception.ConsoleMessageException;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -24,6 +24,11 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import org.fisco.bcos.sdk.abi.ABICodec;
 import org.fisco.bcos.sdk.abi.ABICodecException;
 import org.fisco.bcos.sdk.abi.EventEncoder;
@@ -34,19 +39,21 @@ import org.fisco.bcos.sdk.abi.wrapper.ABIObject;
 import org.fisco.bcos.sdk.abi.wrapper.ContractABIDefinition;
 import org.fisco.bcos.sdk.client.Client;
 import org.fisco.bcos.sdk.client.exceptions.ClientException;
-import org.fisco.bcos.sdk.codegen.CodeGenUtils;
 import org.fisco.bcos.sdk.codegen.exceptions.CodeGenException;
 import org.fisco.bcos.sdk.contract.precompiled.cns.CnsInfo;
 import org.fisco.bcos.sdk.contract.precompiled.cns.CnsService;
 import org.fisco.bcos.sdk.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.model.CryptoType;
 import org.fisco.bcos.sdk.model.PrecompiledRetCode;
+import org.fisco.bcos.sdk.model.TransactionReceipt;
+import org.fisco.bcos.sdk.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.transaction.manager.AssembleTransactionProcessorInterface;
 import org.fisco.bcos.sdk.transaction.manager.TransactionProcessorFactory;
 import org.fisco.bcos.sdk.transaction.model.dto.CallResponse;
 import org.fisco.bcos.sdk.transaction.model.dto.TransactionResponse;
 import org.fisco.bcos.sdk.transaction.model.exception.ContractException;
 import org.fisco.bcos.sdk.transaction.model.exception.TransactionBaseException;
+import org.fisco.bcos.sdk.utils.Numeric;
 import org.fisco.solc.compiler.CompilationResult;
 import org.fisco.solc.compiler.SolidityCompiler;
 import org.slf4j.Logger;
@@ -56,6 +63,10 @@ public class ConsoleContractImpl implements ConsoleContractFace {
 
     private static final Logger logger = LoggerFactory.getLogger(ConsoleContractImpl.class);
     public static String DEPLOY_METHOD = "deploy";
+    public static final String BENCH_INDEX_PLACEHOLDER = "${i}";
+    private static final int BENCH_PROGRESS_INTERVAL = 5;
+    public static final String TX_MODE_SYNC = "sync";
+    public static final String TX_MODE_ASYNC = "async";
 
     private Client client;
     private AssembleTransactionProcessorInterface assembleTransactionProcessor;
@@ -163,9 +174,10 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             String contractName, String contractNameOrPath, List<String> inputParams)
             throws ConsoleMessageException {
         try {
-            AbiAndBin abiAndBin = ContractCompiler.compileContract(contractNameOrPath);
+            int cryptoType = client.getCryptoSuite().getCryptoTypeConfig();
+            AbiAndBin abiAndBin = ContractCompiler.compileContract(contractNameOrPath, cryptoType);
             String bin = abiAndBin.getBin();
-            if (client.getCryptoSuite().getCryptoTypeConfig() == CryptoType.SM_TYPE) {
+            if (cryptoType == CryptoType.SM_TYPE) {
                 bin = abiAndBin.getSmBin();
             }
             TransactionResponse response =
@@ -179,7 +191,8 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                         response.getReturnObject(),
                         response.getReturnABIObject(),
                         response.getValues());
-                return response;
+                throw new ConsoleMessageException(
+                        "deploy contract for " + contractName + " failed.");
             }
             String contractAddress = response.getTransactionReceipt().getContractAddress();
             System.out.println(
@@ -197,44 +210,8 @@ public class ConsoleContractImpl implements ConsoleContractFace {
         }
     }
 
-    private synchronized void writeLog(String contractName, String contractAddress) {
+    private void writeLog(String contractName, String contractAddress) {
         contractName = ConsoleUtils.removeSolPostfix(contractName);
-        BufferedReader reader = null;
-        try {
-            File logFile = new File(Common.ContractLogFileName);
-            if (!logFile.exists()) {
-                logFile.createNewFile();
-            }
-            reader = new BufferedReader(new FileReader(Common.ContractLogFileName));
-            String line;
-            List<String> textList = new ArrayList<String>();
-            while ((line = reader.readLine()) != null) {
-                textList.add(line);
-            }
-            int i = 0;
-            if (textList.size() >= Common.LogMaxCount) {
-                i = textList.size() - Common.LogMaxCount + 1;
-                if (logFile.exists()) {
-                    logFile.delete();
-                    logFile.createNewFile();
-                }
-                PrintWriter pw = new PrintWriter(new FileWriter(Common.ContractLogFileName, true));
-                for (; i < textList.size(); i++) {
-                    pw.println(textList.get(i));
-                }
-                pw.flush();
-                pw.close();
-            }
-        } catch (IOException e) {
-            System.out.println("Read deploylog.txt failed.");
-            return;
-        } finally {
-            try {
-                reader.close();
-            } catch (IOException e) {
-                System.out.println("Close deploylog.txt failed.");
-            }
-        }
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
         while (contractName.length() < 20) {
@@ -249,18 +226,10 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                         + "  "
                         + contractAddress;
         try {
-            File logFile = new File(Common.ContractLogFileName);
-            if (!logFile.exists()) {
-                logFile.createNewFile();
-            }
-            PrintWriter pw = new PrintWriter(new FileWriter(Common.ContractLogFileName, true));
-            pw.println(log);
-            pw.flush();
-            pw.close();
+            DeployLog.append(client.getGroupId(), log);
         } catch (IOException e) {
-            System.out.println(e.getMessage());
+            System.out.println("Write " + Common.ContractLogFileName + " failed.");
             logger.error(" message: {}, e: {}", e.getMessage(), e);
-            return;
         }
     }
 
@@ -286,32 +255,11 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                 return;
             }
         }
-        File logFile = new File(Common.ContractLogFileName);
-        if (!logFile.exists()) {
-            logFile.createNewFile();
-        }
-        BufferedReader reader = new BufferedReader(new FileReader(Common.ContractLogFileName));
-        String line;
         String ls = System.getProperty("line.separator");
-        List<String> textList = new ArrayList<String>();
         try {
-            while ((line = reader.readLine()) != null) {
-                String[] contractInfos = ConsoleUtils.tokenizeCommand(line);
-                if ((contractInfos.length > 2)
-                        && ("[group:" + client.getGroupId() + "]").equals(contractInfos[2])) {
-                    textList.add(line);
-                }
-            }
             StringBuilder stringBuilder = new StringBuilder();
-            int i = 0;
-            int len = textList.size();
-            if (recordNumber >= len) {
-                recordNumber = len;
-            } else {
-                i = len - recordNumber;
-            }
-            for (; i < len; i++) {
-                stringBuilder.append(textList.get(i));
+            for (String record : DeployLog.tail(client.getGroupId(), recordNumber)) {
+                stringBuilder.append(record);
                 stringBuilder.append(ls);
             }
             if ("".equals(stringBuilder.toString())) {
@@ -321,28 +269,38 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             }
         } catch (Exception e) {
             logger.error(" load {} failed, e: {}", Common.ContractLogFileName, e);
-        } finally {
-            reader.close();
         }
     }
 
     public ABIDefinition getAbiDefinition(AbiAndBin abiAndBin, String functionName)
             throws IOException {
-        List<ABIDefinition> abiDefinitions =
-                CodeGenUtils.loadContractAbiDefinition(abiAndBin.getAbi());
-        for (ABIDefinition definition : abiDefinitions) {
-            if (definition.getName() != null && definition.getName().equals(functionName)) {
-                return definition;
-            }
-        }
-        return null;
+        return ContractAbiCache.parse(abiAndBin).getFunction(functionName);
     }
 
     @Override
     public void call(String[] params) throws Exception {
         String contractNameOrPath = ConsoleUtils.resolveContractPath(params[1]);
-        String contractAddressStr = params[2];
         String contractName = ConsoleUtils.getContractName(contractNameOrPath);
+        Address contractAddress = resolveContractAddress(contractName, params[2]);
+        String functionName = params[3];
+        // get callParams
+        List<String> callParams = Arrays.asList(params).subList(4, params.length);
+        callContract(
+                null,
+                contractName,
+                contractNameOrPath,
+                contractAddress.getAddress(),
+                functionName,
+                callParams);
+    }
+
+    /**
+     * @param contractAddressStr the contract address, or "latest" for the latest deployed one
+     * @throws ConsoleMessageException if the address is invalid or the latest address can not be
+     *     found
+     */
+    private Address resolveContractAddress(String contractName, String contractAddressStr)
+            throws ConsoleMessageException {
         // check contract address
         Address contractAddress = null;
         if (contractAddressStr.equals("latest")) {
@@ -354,23 +312,21 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                                     + File.separator
                                     + contractName);
             if (!contractDir.exists()) {
-                System.out.println(
+                throw new ConsoleMessageException(
                         "Can not find the latest address. Please make sure group "
                                 + client.getGroupId()
                                 + " has deployed contract \""
                                 + contractName
                                 + "\"!");
-                return;
             }
             File[] contractAddressFiles = contractDir.listFiles();
             if (contractAddressFiles == null || contractAddressFiles.length == 0) {
-                System.out.println(
+                throw new ConsoleMessageException(
                         "Can not find the latest address. Please make sure group "
                                 + client.getGroupId()
                                 + " has deployed contract \""
                                 + contractName
                                 + "\"!");
-                return;
             }
             ConsoleUtils.sortFiles(contractAddressFiles);
             for (File contractAddressFile : contractAddressFiles) {
@@ -393,19 +349,9 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             contractAddress = ConsoleUtils.convertAddress(contractAddressStr);
         }
         if (!contractAddress.isValid()) {
-            System.out.println("Invalid contract address: " + contractAddressStr);
-            return;
+            throw new ConsoleMessageException("Invalid contract address: " + contractAddressStr);
         }
-        String functionName = params[3];
-        // get callParams
-        List<String> callParams = Arrays.asList(params).subList(4, params.length);
-        callContract(
-                null,
-                contractName,
-                contractNameOrPath,
-                contractAddress.getAddress(),
-                functionName,
-                callParams);
+        return contractAddress;
     }
 
     protected void callContract(
@@ -418,16 +364,20 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             throws IOException, CodeGenException, ABICodecException, CompileContractException {
         try {
             // load bin and abi
+            ContractAbiCache.ContractAbi contractAbi;
             if (abiAndBin == null) {
-                abiAndBin =
-                        ContractCompiler.loadAbiAndBin(
+                contractAbi =
+                        ContractAbiCache.load(
                                 client.getGroupId(),
                                 contractName,
                                 contractNameOrPath,
                                 contractAddress);
+                abiAndBin = contractAbi.getAbiAndBin();
+            } else {
+                contractAbi = ContractAbiCache.parse(abiAndBin);
             }
             // call
-            ABIDefinition abiDefinition = getAbiDefinition(abiAndBin, functionName);
+            ABIDefinition abiDefinition = contractAbi.getFunction(functionName);
             if (abiDefinition == null) {
                 System.out.println(
                         "call contract \""
@@ -473,6 +423,18 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                                     + StatusCodeLink.txReceiptStatusLink);
                 }
                 ConsoleUtils.singleLine();
+                if (response.getReturnCode() != PrecompiledRetCode.CODE_SUCCESS.getCode()) {
+                    throw new ConsoleMessageException("call for " + contractName + " failed.");
+                }
+            }
+            // send transaction and collect the receipt in the background
+            else if (AsyncTransactionTracker.isAsyncMode()) {
+                sendTransactionAsync(
+                        contractName,
+                        contractAddress,
+                        abiAndBin.getAbi(),
+                        functionName,
+                        callParams);
             }
             // send transaction
             else {
@@ -510,6 +472,10 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                     System.out.println("Event logs");
                     System.out.println("Event: " + response.getEvents());
                 }
+                if (!response.getTransactionReceipt().getStatus().equals("0x")
+                        && !response.getTransactionReceipt().getStatus().equals("0x0")) {
+                    throw new ConsoleMessageException("call for " + contractName + " failed.");
+                }
             }
 
         } catch (TransactionBaseException e) {
@@ -529,7 +495,316 @@ public class ConsoleContractImpl implements ConsoleContractFace {
                             + errorMessage
                             + ", please refer to "
                             + StatusCodeLink.txReceiptStatusLink);
+            throw new ConsoleMessageException("call for " + contractName + " failed.", e);
+        }
+    }
+
+    private void sendTransactionAsync(
+            String contractName,
+            String contractAddress,
+            String abi,
+            String functionName,
+            List<String> callParams)
+            throws ABICodecException {
+        String data = abiCodec.encodeMethodFromString(abi, functionName, callParams);
+        String signedTransaction =
+                assembleTransactionProcessor.createSignedTransaction(
+                        contractAddress, data, client.getCryptoSuite().getCryptoKeyPair());
+        String transactionHash =
+                Numeric.toHexString(
+                        client.getCryptoSuite()
+                                .hash(Numeric.hexStringToByteArray(signedTransaction)));
+        AsyncTransactionTracker.onSubmit(
+                new AsyncTransactionTracker.TrackedTransaction(
+                        transactionHash,
+                        client.getGroupId(),
+                        contractName,
+                        contractAddress,
+                        functionName));
+        try {
+            client.sendRawTransactionAndGetReceiptAsync(
+                    signedTransaction,
+                    new TransactionCallback() {
+                        @Override
+                        public void onResponse(TransactionReceipt receipt) {
+                            AsyncTransactionTracker.onReceipt(transactionHash, receipt);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            AsyncTransactionTracker.onSubmitFailed(transactionHash);
+            throw e;
+        }
+        System.out.println("transaction hash: " + transactionHash);
+        System.out.println(
+                "The transaction has been sent, use \"receipts "
+                        + transactionHash
+                        + "\" to get the receipt.");
+    }
+
+    @Override
+    public void txMode(String[] params) throws ConsoleMessageException {
+        if (params.length > 1) {
+            if (TX_MODE_ASYNC.equals(params[1])) {
+                AsyncTransactionTracker.setAsyncMode(true);
+            } else if (TX_MODE_SYNC.equals(params[1])) {
+                AsyncTransactionTracker.setAsyncMode(false);
+            } else {
+                throw new ConsoleMessageException(
+                        "Invalid transaction mode \""
+                                + params[1]
+                                + "\", must be "
+                                + TX_MODE_SYNC
+                                + " or "
+                                + TX_MODE_ASYNC);
+            }
         }
+        System.out.println(
+                "transaction mode: "
+                        + (AsyncTransactionTracker.isAsyncMode() ? TX_MODE_ASYNC : TX_MODE_SYNC));
+    }
+
+    @Override
+    public void receipts(String[] params) {
+        if (params.length > 1 && "clear".equals(params[1])) {
+            AsyncTransactionTracker.clearCompletedTransactions();
+            System.out.println("The completed transactions have been cleared.");
+            return;
+        }
+        if (params.length > 1) {
+            AsyncTransactionTracker.TrackedTransaction transaction =
+                    AsyncTransactionTracker.get(params[1]);
+            if (transaction == null) {
+                System.out.println("The transaction " + params[1] + " is not tracked.");
+                return;
+            }
+            printTrackedTransaction(transaction);
+            if (transaction.getReceipt() == null) {
+                System.out.println("The receipt has not been received.");
+            } else {
+                ConsoleUtils.singleLine();
+                ConsoleUtils.printJson(transaction.getReceipt().toString());
+            }
+            return;
+        }
+        List<AsyncTransactionTracker.TrackedTransaction> pendingTransactions =
+                AsyncTransactionTracker.getPendingTransactions();
+        List<AsyncTransactionTracker.TrackedTransaction> completedTransactions =
+                AsyncTransactionTracker.getCompletedTransactions();
+        System.out.println(
+                "pending: "
+                        + pendingTransactions.size()
+                        + ", completed: "
+                        + completedTransactions.size());
+        for (AsyncTransactionTracker.TrackedTransaction transaction : pendingTransactions) {
+            printTrackedTransaction(transaction);
+        }
+        // the latest completed ones
+        int start = Math.max(0, completedTransactions.size() - Common.QueryLogCount);
+        for (AsyncTransactionTracker.TrackedTransaction transaction :
+                completedTransactions.subList(start, completedTransactions.size())) {
+            printTrackedTransaction(transaction);
+        }
+    }
+
+    private void printTrackedTransaction(AsyncTransactionTracker.TrackedTransaction transaction) {
+        String status = "pending";
+        if (transaction.getReceipt() != null) {
+            String receiptStatus = transaction.getReceipt().getStatus();
+            status =
+                    ("0x".equals(receiptStatus) || "0x0".equals(receiptStatus))
+                            ? "success (" + transaction.getTimeCost() + " ms)"
+                            : "failed, status " + receiptStatus;
+        }
+        System.out.println(
+                transaction.getTransactionHash()
+                        + "  [group:"
+                        + transaction.getGroupId()
+                        + "]  "
+                        + transaction.getContractName()
+                        + "."
+                        + transaction.getFunctionName()
+                        + "  "
+                        + status);
+    }
+
+    @Override
+    public void benchCall(String[] params) throws Exception {
+        String contractNameOrPath = ConsoleUtils.resolveContractPath(params[1]);
+        String contractName = ConsoleUtils.getContractName(contractNameOrPath);
+        Address contractAddress = resolveContractAddress(contractName, params[2]);
+        String functionName = params[3];
+        int count =
+                ConsoleUtils.proccessNonNegativeNumber("count", params[4], 1, Common.MaxBenchCount);
+        int concurrency =
+                ConsoleUtils.proccessNonNegativeNumber(
+                        "concurrency", params[5], 1, Common.MaxBenchConcurrency);
+        int qps = ConsoleUtils.proccessNonNegativeNumber("qps", params[6]);
+        List<String> paramTemplates = Arrays.asList(params).subList(7, params.length);
+        ContractAbiCache.ContractAbi contractAbi =
+                ContractAbiCache.load(
+                        client.getGroupId(),
+                        contractName,
+                        contractNameOrPath,
+                        contractAddress.getAddress());
+        ABIDefinition abiDefinition = contractAbi.getFunction(functionName);
+        if (abiDefinition == null) {
+            throw new ConsoleMessageException(
+                    "benchCall contract \""
+                            + contractName
+                            + "\" failed ! Please check the existence of method \""
+                            + functionName
+                            + "\"");
+        }
+        String abi = contractAbi.getAbiAndBin().getAbi();
+        boolean constant = abiDefinition.isConstant();
+        String from = client.getCryptoSuite().getCryptoKeyPair().getAddress();
+
+        // the latencies in the order the calls complete
+        long[] latencies = new long[count];
+        AtomicInteger completedCount = new AtomicInteger(0);
+        AtomicInteger nextIndex = new AtomicInteger(0);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failedCount = new AtomicInteger(0);
+        Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+        System.out.println(
+                "benchCall "
+                        + functionName
+                        + " of "
+                        + contractName
+                        + ", count: "
+                        + count
+                        + ", concurrency: "
+                        + concurrency
+                        + ", qps: "
+                        + (qps == 0 ? "unlimited" : qps));
+        long startTime = System.nanoTime();
+        ExecutorService executor = ConsoleMetrics.newFixedThreadPool(concurrency);
+        for (int worker = 0; worker < concurrency; worker++) {
+            executor.execute(
+                    () -> {
+                        int index;
+                        while (!Thread.currentThread().isInterrupted()
+                                && (index = nextIndex.getAndIncrement()) < count) {
+                            if (qps > 0) {
+                                // pace the requests to the target rate
+                                long waitNanos =
+                                        startTime
+                                                + index * 1_000_000_000L / qps
+                                                - System.nanoTime();
+                                if (waitNanos > 0) {
+                                    LockSupport.parkNanos(waitNanos);
+                                }
+                            }
+                            List<String> callParams = new ArrayList<>(paramTemplates.size());
+                            for (String paramTemplate : paramTemplates) {
+                                callParams.add(
+                                        paramTemplate.replace(
+                                                BENCH_INDEX_PLACEHOLDER, String.valueOf(index)));
+                            }
+                            long sendTime = System.nanoTime();
+                            String error = null;
+                            try {
+                                if (constant) {
+                                    CallResponse response =
+                                            assembleTransactionProcessor.sendCallWithStringParams(
+                                                    from,
+                                                    contractAddress.getAddress(),
+                                                    abi,
+                                                    functionName,
+                                                    callParams);
+                                    if (response.getReturnCode()
+                                            != PrecompiledRetCode.CODE_SUCCESS.getCode()) {
+                                        error = response.getReturnMessage();
+                                    }
+                                } else {
+                                    TransactionResponse response =
+                                            assembleTransactionProcessor
+                                                    .sendTransactionWithStringParamsAndGetResponse(
+                                                            contractAddress.getAddress(),
+                                                            abi,
+                                                            functionName,
+                                                            callParams);
+                                    String status = response.getTransactionReceipt().getStatus();
+                                    if (!"0x".equals(status) && !"0x0".equals(status)) {
+                                        error = "transaction status " + status;
+                                    }
+                                }
+                            } catch (Exception e) {
+                                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+                                logger.debug("benchCall failed, index: {}, e: {}", index, e);
+                            }
+                            latencies[completedCount.getAndIncrement()] =
+                                    System.nanoTime() - sendTime;
+                            if (error == null) {
+                                successCount.incrementAndGet();
+                            } else {
+                                failedCount.incrementAndGet();
+                                errors.computeIfAbsent(error, key -> new AtomicInteger())
+                                        .incrementAndGet();
+                            }
+                        }
+                    });
+        }
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(BENCH_PROGRESS_INTERVAL, TimeUnit.SECONDS)) {
+                System.out.println(
+                        "sent: "
+                                + Math.min(nextIndex.get(), count)
+                                + ", success: "
+                                + successCount.get()
+                                + ", failed: "
+                                + failedCount.get());
+            }
+        } finally {
+            // stop the workers when the wait is interrupted
+            executor.shutdownNow();
+        }
+        long totalNanos = System.nanoTime() - startTime;
+
+        // the workers may have stopped early, the summary only counts the completed calls
+        int completed = completedCount.get();
+        long[] completedLatencies = Arrays.copyOf(latencies, completed);
+        Arrays.sort(completedLatencies);
+        ConsoleUtils.singleLine();
+        System.out.println("total: " + completed + (completed < count ? " of " + count : ""));
+        System.out.println("success: " + successCount.get());
+        System.out.println("failed: " + failedCount.get());
+        System.out.println("time cost: " + totalNanos / 1_000_000 + " ms");
+        System.out.println(
+                "TPS: "
+                        + String.format(
+                                "%.2f", completed * 1_000_000_000.0 / Math.max(1, totalNanos)));
+        if (completed > 0) {
+            System.out.println(
+                    "latency(ms): avg: "
+                            + String.format(
+                                    "%.2f",
+                                    Arrays.stream(completedLatencies).average().orElse(0)
+                                            / 1_000_000.0)
+                            + ", p50: "
+                            + percentileMillis(completedLatencies, 50)
+                            + ", p90: "
+                            + percentileMillis(completedLatencies, 90)
+                            + ", p99: "
+                            + percentileMillis(completedLatencies, 99)
+                            + ", max: "
+                            + percentileMillis(completedLatencies, 100));
+        }
+        if (!errors.isEmpty()) {
+            ConsoleUtils.singleLine();
+            System.out.println("errors:");
+            for (Map.Entry<String, AtomicInteger> error : errors.entrySet()) {
+                System.out.println("  " + error.getValue().get() + " x " + error.getKey());
+            }
+        }
+        ConsoleUtils.singleLine();
+    }
+
+    private static String percentileMillis(long[] sortedLatencies, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        index = Math.max(0, Math.min(sortedLatencies.length - 1, index));
+        return String.format("%.2f", sortedLatencies[index] / 1_000_000.0);
     }
 
     @Override
@@ -553,9 +828,6 @@ public class ConsoleContractImpl implements ConsoleContractFace {
             List<String> inputParams = Arrays.asList(params).subList(3, params.length);
             TransactionResponse response =
                     deployContract(contractName, contractNameOrPath, inputParams);
-            if (response.getReturnCode() != PrecompiledRetCode.CODE_SUCCESS.getCode()) {
-                return;
-            }
             String contractAddress = response.getContractAddress();
             AbiAndBin abiAndBin =
                     ContractCompiler.loadAbiAndBin(
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package console.contract.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.fisco.bcos.sdk.model.TransactionReceipt;
+
+/** The transactions sent in the async mode of the console and the receipts received for them. */
+public class AsyncTransactionTracker {
+    private static final int MAX_COMPLETED_TRANSACTIONS = 1000;
+
+    private static volatile boolean asyncMode = false;
+
+    private static final Map<String, TrackedTransaction> pendingTransactions =
+            new LinkedHashMap<>();
+    private static final Map<String, TrackedTransaction> completedTransactions =
+            new LinkedHashMap<String, TrackedTransaction>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TrackedTransaction> eldest) {
+                    return size() > MAX_COMPLETED_TRANSACTIONS;
+                }
+            };
+
+    public static class TrackedTransaction {
+        private final String transactionHash;
+        private final Integer groupId;
+        private final String contractName;
+        private final String contractAddress;
+        private final String functionName;
+        private final long submitTime;
+        private volatile long completeTime;
+        private volatile TransactionReceipt receipt;
+
+        public TrackedTransaction(
+                String transactionHash,
+                Integer groupId,
+                String contractName,
+                String contractAddress,
+                String functionName) {
+            this.transactionHash = transactionHash;
+            this.groupId = groupId;
+            this.contractName = contractName;
+            this.contractAddress = contractAddress;
+            this.functionName = functionName;
+            this.submitTime = System.currentTimeMillis();
+        }
+
+        public String getTransactionHash() {
+            return transactionHash;
+        }
+
+        public Integer getGroupId() {
+            return groupId;
+        }
+
+        public String getContractName() {
+            return contractName;
+        }
+
+        public String getContractAddress() {
+            return contractAddress;
+        }
+
+        public String getFunctionName() {
+            return functionName;
+        }
+
+        public long getSubmitTime() {
+            return submitTime;
+        }
+
+        /** @return the time cost from the submission to the receipt, -1 if still pending */
+        public long getTimeCost() {
+            return receipt == null ? -1 : completeTime - submitTime;
+        }
+
+        public TransactionReceipt getReceipt() {
+            return receipt;
+        }
+    }
+
+    public static boolean isAsyncMode() {
+        return asyncMode;
+    }
+
+    public static void setAsyncMode(boolean asyncMode) {
+        AsyncTransactionTracker.asyncMode = asyncMode;
+    }
+
+    public static synchronized void onSubmit(TrackedTransaction transaction) {
+        pendingTransactions.put(transaction.getTransactionHash(), transaction);
+    }
+
+    public static synchronized void onReceipt(String transactionHash, TransactionReceipt receipt) {
+        TrackedTransaction transaction = pendingTransactions.remove(transactionHash);
+        if (transaction == null) {
+            return;
+        }
+        transaction.completeTime = System.currentTimeMillis();
+        transaction.receipt = receipt;
+        completedTransactions.put(transactionHash, transaction);
+    }
+
+    /** forget the transaction that could not be sent */
+    public static synchronized void onSubmitFailed(String transactionHash) {
+        pendingTransactions.remove(transactionHash);
+    }
+
+    public static synchronized TrackedTransaction get(String transactionHash) {
+        TrackedTransaction transaction = pendingTransactions.get(transactionHash);
+        if (transaction == null) {
+            transaction = completedTransactions.get(transactionHash);
+        }
+        return transaction;
+    }
+
+    public static synchronized List<TrackedTransaction> getPendingTransactions() {
+        return new ArrayList<>(pendingTransactions.values());
+    }
+
+    public static synchronized List<TrackedTransaction> getCompletedTransactions() {
+        return new ArrayList<>(completedTransactions.values());
+    }
+
+    public static synchronized void clearCompletedTransactions() {
+        completedTransactions.clear();
+    }
+}
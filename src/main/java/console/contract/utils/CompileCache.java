@@ -0,0 +1,145 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package console.contract.utils;
+
+import console.contract.model.AbiAndBin;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.io.FileUtils;
+import org.fisco.bcos.sdk.utils.Numeric;
+import org.fisco.solc.compiler.SolidityCompiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Content addressed cache of the solc output, the key covers the source file, all the files it
+ * imports, the libraries option and the compiler in use.
+ */
+public class CompileCache {
+    private static final Logger logger = LoggerFactory.getLogger(CompileCache.class);
+
+    public static final String CACHE_PATH = ContractCompiler.COMPILED_PATH + ".cache/";
+    private static final String ABI_POSTFIX = ".abi";
+    private static final String BIN_POSTFIX = ".bin";
+    private static final String SM_BIN_POSTFIX = ".sm.bin";
+
+    private static final Pattern IMPORT_PATTERN =
+            Pattern.compile("import\\s+(?:[^;]*?\\s+from\\s+)?[\"']([^\"']+)[\"']");
+
+    public static String computeKey(File contractFile, String librariesOption)
+            throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 is not supported: " + e.getMessage(), e);
+        }
+        // the solcJ jar carries the compiler version in its name
+        digest.update(
+                String.valueOf(
+                                SolidityCompiler.class
+                                        .getProtectionDomain()
+                                        .getCodeSource()
+                                        .getLocation())
+                        .getBytes(StandardCharsets.UTF_8));
+        digest.update(
+                ("libraries:" + (librariesOption == null ? "" : librariesOption))
+                        .getBytes(StandardCharsets.UTF_8));
+        for (File source : collectSources(contractFile)) {
+            digest.update(source.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update(FileUtils.readFileToByteArray(source));
+        }
+        return Numeric.toHexStringNoPrefix(digest.digest());
+    }
+
+    /** the contract file and everything it imports, transitively */
+    public static List<File> collectSources(File contractFile) throws IOException {
+        Set<File> visited = new LinkedHashSet<>();
+        collectSources(contractFile.getCanonicalFile(), visited);
+        return new ArrayList<>(visited);
+    }
+
+    private static void collectSources(File file, Set<File> visited) throws IOException {
+        if (!file.exists() || !visited.add(file)) {
+            return;
+        }
+        String content = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+        Matcher matcher = IMPORT_PATTERN.matcher(content);
+        while (matcher.find()) {
+            File imported = new File(file.getParentFile(), matcher.group(1)).getCanonicalFile();
+            collectSources(imported, visited);
+        }
+    }
+
+    public static AbiAndBin load(String contractName, String key) {
+        File abiFile = getCacheFile(contractName, key, ABI_POSTFIX);
+        File binFile = getCacheFile(contractName, key, BIN_POSTFIX);
+        File smBinFile = getCacheFile(contractName, key, SM_BIN_POSTFIX);
+        if (!abiFile.exists()) {
+            return null;
+        }
+        // an entry may hold only one of the two binaries
+        try {
+            return new AbiAndBin(
+                    FileUtils.readFileToString(abiFile, StandardCharsets.UTF_8),
+                    binFile.exists()
+                            ? FileUtils.readFileToString(binFile, StandardCharsets.UTF_8)
+                            : "",
+                    smBinFile.exists()
+                            ? FileUtils.readFileToString(smBinFile, StandardCharsets.UTF_8)
+                            : "");
+        } catch (IOException e) {
+            logger.warn(" load compile cache failed, contract: {}, e: {}", contractName, e);
+            return null;
+        }
+    }
+
+    public static void store(String contractName, String key, AbiAndBin abiAndBin) {
+        try {
+            if (!abiAndBin.getBin().isEmpty()) {
+                FileUtils.writeStringToFile(
+                        getCacheFile(contractName, key, BIN_POSTFIX),
+                        abiAndBin.getBin(),
+                        StandardCharsets.UTF_8);
+            }
+            if (!abiAndBin.getSmBin().isEmpty()) {
+                FileUtils.writeStringToFile(
+                        getCacheFile(contractName, key, SM_BIN_POSTFIX),
+                        abiAndBin.getSmBin(),
+                        StandardCharsets.UTF_8);
+            }
+            // the abi is written last, an entry is only complete once it exists
+            FileUtils.writeStringToFile(
+                    getCacheFile(contractName, key, ABI_POSTFIX),
+                    abiAndBin.getAbi(),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn(" store compile cache failed, contract: {}, e: {}", contractName, e);
+        }
+    }
+
+    private static File getCacheFile(String contractName, String key, String postfix) {
+        return new File(CACHE_PATH + contractName + File.separator + key + postfix);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package console.contract.utils;
+
+import console.contract.exceptions.CompileContractException;
+import console.contract.model.AbiAndBin;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.fisco.bcos.sdk.abi.wrapper.ABIDefinition;
+import org.fisco.bcos.sdk.codegen.CodeGenUtils;
+import org.fisco.bcos.sdk.codegen.exceptions.CodeGenException;
+
+/**
+ * LRU cache of the parsed abi of deployed contracts, keyed by group/contract/address. An entry is
+ * dropped as soon as the files it was loaded from under contracts/.compiled change.
+ */
+public class ContractAbiCache {
+    private static final int MAX_CONTRACTS = 256;
+
+    private static final Map<String, ContractAbi> contractCache = newLruMap();
+    // abi loaded from other places than contracts/.compiled, e.g. from CNS
+    private static final Map<String, ContractAbi> abiCache = newLruMap();
+
+    public static class ContractAbi {
+        private final AbiAndBin abiAndBin;
+        private final List<ABIDefinition> definitions;
+        private final Map<String, ABIDefinition> functions = new HashMap<>();
+        private long[] fileStamp;
+
+        private ContractAbi(AbiAndBin abiAndBin) throws IOException {
+            this.abiAndBin = abiAndBin;
+            this.definitions =
+                    Collections.unmodifiableList(
+                            CodeGenUtils.loadContractAbiDefinition(abiAndBin.getAbi()));
+            for (ABIDefinition definition : definitions) {
+                // keep the first definition of an overloaded function
+                if (definition.getName() != null) {
+                    functions.putIfAbsent(definition.getName(), definition);
+                }
+            }
+        }
+
+        public AbiAndBin getAbiAndBin() {
+            return abiAndBin;
+        }
+
+        public List<ABIDefinition> getDefinitions() {
+            return definitions;
+        }
+
+        public ABIDefinition getFunction(String functionName) {
+            return functions.get(functionName);
+        }
+    }
+
+    private static <V> Map<String, V> newLruMap() {
+        return Collections.synchronizedMap(
+                new LinkedHashMap<String, V>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                        return size() > MAX_CONTRACTS;
+                    }
+                });
+    }
+
+    public static ContractAbi load(
+            Integer groupId, String contractName, String contractNameOrPath, String contractAddress)
+            throws IOException, CodeGenException, CompileContractException {
+        String key = groupId + "/" + contractName + "/" + contractAddress.toLowerCase();
+        File[] compiledFiles =
+                ContractCompiler.getCompiledFiles(groupId, contractName, contractAddress);
+        ContractAbi contractAbi = contractCache.get(key);
+        if (contractAbi != null && Arrays.equals(contractAbi.fileStamp, getStamp(compiledFiles))) {
+            return contractAbi;
+        }
+        contractAbi =
+                new ContractAbi(
+                        ContractCompiler.loadAbiAndBin(
+                                groupId, contractName, contractNameOrPath, contractAddress));
+        contractAbi.fileStamp = getStamp(compiledFiles);
+        contractCache.put(key, contractAbi);
+        return contractAbi;
+    }
+
+    public static ContractAbi parse(AbiAndBin abiAndBin) throws IOException {
+        ContractAbi contractAbi = abiCache.get(abiAndBin.getAbi());
+        if (contractAbi == null) {
+            contractAbi = new ContractAbi(abiAndBin);
+            abiCache.put(abiAndBin.getAbi(), contractAbi);
+        }
+        return contractAbi;
+    }
+
+    private static long[] getStamp(File[] files) {
+        long[] stamp = new long[files.length * 2];
+        for (int i = 0; i < files.length; i++) {
+            stamp[2 * i] = files[i].lastModified();
+            stamp[2 * i + 1] = files[i].length();
+        }
+        return stamp;
+    }
+}
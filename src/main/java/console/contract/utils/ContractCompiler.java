@@ -19,14 +19,20 @@ import static org.fisco.solc.compiler.SolidityCompiler.Options.BIN;
 import static org.fisco.solc.compiler.SolidityCompiler.Options.INTERFACE;
 import static org.fisco.solc.compiler.SolidityCompiler.Options.METADATA;
 
+import console.common.ConsoleMetrics;
 import console.common.ConsoleUtils;
 import console.contract.exceptions.CompileContractException;
 import console.contract.model.AbiAndBin;
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.io.FileUtils;
 import org.fisco.bcos.sdk.codegen.CodeGenUtils;
 import org.fisco.bcos.sdk.codegen.exceptions.CodeGenException;
+import org.fisco.bcos.sdk.model.CryptoType;
 import org.fisco.solc.compiler.CompilationResult;
 import org.fisco.solc.compiler.SolidityCompiler;
 import org.slf4j.Logger;
@@ -42,27 +48,66 @@ public class ContractCompiler {
     private static final String BIN_POSTFIX = ".bin";
     private static final String ABI_POSTFIX = ".abi";
 
+    private static final ExecutorService compileExecutor =
+            Executors.newCachedThreadPool(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "contract-compiler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
     public static AbiAndBin compileContract(String contractNameOrPath)
             throws CompileContractException {
-        File contractFile = new File(contractNameOrPath);
-        // the contractPath
-        if (contractFile.exists() && !contractFile.isDirectory()) {
-            return dynamicCompileSolFilesToJava(contractFile);
-        }
-        // the contractName
-        String contractFileName = ConsoleUtils.removeSolPostfix(contractNameOrPath) + SOL_POSTFIX;
-        contractFile = new File(SOLIDITY_PATH + "/" + contractFileName);
-        if (!contractFile.exists()) {
-            throw new CompileContractException(
-                    "There is no " + contractFileName + " in the directory of " + SOLIDITY_PATH);
+        return compileContract(contractNameOrPath, true, true);
+    }
+
+    /**
+     * compile only the binary the chain of the given crypto type needs, the other one is produced
+     * on demand by a later compile and served from the compile cache from then on
+     */
+    public static AbiAndBin compileContract(String contractNameOrPath, int cryptoType)
+            throws CompileContractException {
+        boolean sm = (cryptoType == CryptoType.SM_TYPE);
+        return compileContract(contractNameOrPath, !sm, sm);
+    }
+
+    private static AbiAndBin compileContract(
+            String contractNameOrPath, boolean needEcdsa, boolean needSm)
+            throws CompileContractException {
+        long startTime = System.nanoTime();
+        try {
+            File contractFile = new File(contractNameOrPath);
+            // the contractPath
+            if (contractFile.exists() && !contractFile.isDirectory()) {
+                return dynamicCompileSolFilesToJava(contractFile, needEcdsa, needSm);
+            }
+            // the contractName
+            String contractFileName =
+                    ConsoleUtils.removeSolPostfix(contractNameOrPath) + SOL_POSTFIX;
+            contractFile = new File(SOLIDITY_PATH + "/" + contractFileName);
+            if (!contractFile.exists()) {
+                throw new CompileContractException(
+                        "There is no "
+                                + contractFileName
+                                + " in the directory of "
+                                + SOLIDITY_PATH);
+            }
+            return dynamicCompileSolFilesToJava(contractFile, needEcdsa, needSm);
+        } finally {
+            ConsoleMetrics.record(ConsoleMetrics.STAGE_COMPILE, startTime);
         }
-        return dynamicCompileSolFilesToJava(contractFile);
     }
 
     public static AbiAndBin dynamicCompileSolFilesToJava(File contractFile)
             throws CompileContractException {
+        return dynamicCompileSolFilesToJava(contractFile, true, true);
+    }
+
+    private static AbiAndBin dynamicCompileSolFilesToJava(
+            File contractFile, boolean needEcdsa, boolean needSm)
+            throws CompileContractException {
         try {
-            return compileSolToBinAndAbi(contractFile, COMPILED_PATH, COMPILED_PATH);
+            return compileSolToBinAndAbi(contractFile, null, needEcdsa, needSm);
         } catch (IOException e) {
             throw new CompileContractException(
                     "compile " + contractFile.getName() + " failed, error info: " + e.getMessage(),
@@ -79,68 +124,108 @@ public class ContractCompiler {
     public static AbiAndBin compileSolToBinAndAbi(
             File contractFile, String abiDir, String binDir, String librariesOption)
             throws CompileContractException, IOException {
+        return compileSolToBinAndAbi(contractFile, librariesOption, true, true);
+    }
+
+    private static AbiAndBin compileSolToBinAndAbi(
+            File contractFile, String librariesOption, boolean needEcdsa, boolean needSm)
+            throws CompileContractException, IOException {
+        String contractName = contractFile.getName().split("\\.")[0];
+        String cacheKey = CompileCache.computeKey(contractFile, librariesOption);
+        AbiAndBin cached = CompileCache.load(contractName, cacheKey);
+        boolean compileEcdsa = needEcdsa && (cached == null || cached.getBin().isEmpty());
+        boolean compileSm = needSm && (cached == null || cached.getSmBin().isEmpty());
+        if (!compileEcdsa && !compileSm) {
+            logger.debug(" hit compile cache, contract: {}, key: {}", contractName, cacheKey);
+            return cached;
+        }
         SolidityCompiler.CustomOption libraryOption = null;
         if (librariesOption != null && !librariesOption.equals("")) {
             libraryOption = new SolidityCompiler.CustomOption("libraries", librariesOption);
         }
 
-        String contractName = contractFile.getName().split("\\.")[0];
-        /** ecdsa compile */
+        // the ecdsa and sm compilations are independent solc processes, run them side by side
+        Future<CompilationResult.ContractMetadata> smFuture = null;
+        if (compileSm) {
+            final SolidityCompiler.CustomOption smLibraryOption = libraryOption;
+            smFuture =
+                    compileExecutor.submit(
+                            ConsoleMetrics.withCommand(
+                                    () ->
+                                            compileWithSolc(
+                                                    contractFile,
+                                                    contractName,
+                                                    true,
+                                                    smLibraryOption)));
+        }
+        CompilationResult.ContractMetadata meta = null;
+        CompilationResult.ContractMetadata smMeta = null;
+        try {
+            if (compileEcdsa) {
+                meta = compileWithSolc(contractFile, contractName, false, libraryOption);
+            }
+            if (smFuture != null) {
+                smMeta = smFuture.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompileContractException(" Compile interrupted: " + e.getMessage(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CompileContractException) {
+                throw (CompileContractException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new CompileContractException(" Compile SM error: " + e.getMessage(), e);
+        } finally {
+            if (smFuture != null && !smFuture.isDone()) {
+                smFuture.cancel(true);
+            }
+        }
+
+        String abi = (meta != null ? meta.abi : (smMeta != null ? smMeta.abi : cached.getAbi()));
+        String bin = (meta != null ? meta.bin : (cached != null ? cached.getBin() : ""));
+        String smBin = (smMeta != null ? smMeta.bin : (cached != null ? cached.getSmBin() : ""));
+        AbiAndBin abiAndBin = new AbiAndBin(abi, bin, smBin);
+        CompileCache.store(contractName, cacheKey, abiAndBin);
+        return abiAndBin;
+    }
+
+    private static CompilationResult.ContractMetadata compileWithSolc(
+            File contractFile,
+            String contractName,
+            boolean sm,
+            SolidityCompiler.CustomOption libraryOption)
+            throws CompileContractException, IOException {
         SolidityCompiler.Result res = null;
         if (libraryOption == null) {
-            res =
-                    SolidityCompiler.compile(
-                            contractFile, false, true, ABI, BIN, INTERFACE, METADATA);
+            res = SolidityCompiler.compile(contractFile, sm, true, ABI, BIN, INTERFACE, METADATA);
         } else {
             res =
                     SolidityCompiler.compile(
-                            contractFile,
-                            false,
-                            true,
-                            ABI,
-                            BIN,
-                            INTERFACE,
-                            METADATA,
-                            libraryOption);
+                            contractFile, sm, true, ABI, BIN, INTERFACE, METADATA, libraryOption);
         }
         logger.debug(
-                " solidity compiler result, success: {}, output: {}, error: {}",
+                " solidity compiler result, sm: {}, success: {}, output: {}, error: {}",
+                sm,
                 !res.isFailed(),
                 res.getOutput(),
                 res.getErrors());
         if (res.isFailed() || "".equals(res.getOutput())) {
-            throw new CompileContractException(" Compile error: " + res.getErrors());
-        }
-
-        /** sm compile */
-        SolidityCompiler.Result smRes = null;
-        if (libraryOption == null) {
-            smRes =
-                    SolidityCompiler.compile(
-                            contractFile, true, true, ABI, BIN, INTERFACE, METADATA);
-        } else {
-            smRes =
-                    SolidityCompiler.compile(
-                            contractFile, true, true, ABI, BIN, INTERFACE, METADATA, libraryOption);
-        }
-        logger.debug(
-                " sm solidity compiler result, success: {}, output: {}, error: {}",
-                !smRes.isFailed(),
-                smRes.getOutput(),
-                smRes.getErrors());
-        if (smRes.isFailed() || "".equals(smRes.getOutput())) {
-            throw new CompileContractException(" Compile SM error: " + res.getErrors());
+            throw new CompileContractException(
+                    (sm ? " Compile SM error: " : " Compile error: ") + res.getErrors());
         }
-
         CompilationResult result = CompilationResult.parse(res.getOutput());
-        CompilationResult smResult = CompilationResult.parse(smRes.getOutput());
         CompilationResult.ContractMetadata meta = result.getContract(contractName);
-        CompilationResult.ContractMetadata smMeta = smResult.getContract(contractName);
+        checkBinaryCode(contractName, meta.bin);
+        return meta;
+    }
 
-        AbiAndBin abiAndBin = new AbiAndBin(meta.abi, meta.bin, smMeta.bin);
-        checkBinaryCode(contractName, abiAndBin.getBin());
-        checkBinaryCode(contractName, abiAndBin.getSmBin());
-        return abiAndBin;
+    /** the compile cache key of the contract, changes whenever the source or its imports do */
+    public static String getSourceKey(File contractFile, String librariesOption)
+            throws IOException {
+        return CompileCache.computeKey(contractFile, librariesOption);
     }
 
     public static void checkBinaryCode(String contractName, String binary)
@@ -157,49 +242,40 @@ public class ContractCompiler {
         }
     }
 
+    /** the abi, bin and sm bin files of a deployed contract */
+    public static File[] getCompiledFiles(
+            Integer groupId, String contractName, String contractAddress) {
+        String dir =
+                COMPILED_PATH
+                        + File.separator
+                        + groupId
+                        + File.separator
+                        + contractName
+                        + File.separator
+                        + contractAddress
+                        + File.separator;
+        return new File[] {
+            new File(dir + contractName + ABI_POSTFIX),
+            new File(dir + contractName + BIN_POSTFIX),
+            new File(dir + contractName + SM_POSTFIX + BIN_POSTFIX)
+        };
+    }
+
     public static void saveAbiAndBin(
             Integer groupId, AbiAndBin abiAndBin, String contractName, String contractAddress)
             throws IOException {
-        File abiPath =
-                new File(
-                        COMPILED_PATH
-                                + File.separator
-                                + groupId
-                                + File.separator
-                                + contractName
-                                + File.separator
-                                + contractAddress
-                                + File.separator
-                                + contractName
-                                + ABI_POSTFIX);
-        File binPath =
-                new File(
-                        COMPILED_PATH
-                                + File.separator
-                                + groupId
-                                + File.separator
-                                + contractName
-                                + File.separator
-                                + contractAddress
-                                + File.separator
-                                + contractName
-                                + BIN_POSTFIX);
-        File smBinPath =
-                new File(
-                        COMPILED_PATH
-                                + File.separator
-                                + groupId
-                                + File.separator
-                                + contractName
-                                + File.separator
-                                + contractAddress
-                                + File.separator
-                                + contractName
-                                + SM_POSTFIX
-                                + BIN_POSTFIX);
+        File[] compiledFiles = getCompiledFiles(groupId, contractName, contractAddress);
+        File abiPath = compiledFiles[0];
+        File binPath = compiledFiles[1];
+        File smBinPath = compiledFiles[2];
         FileUtils.writeStringToFile(abiPath, abiAndBin.getAbi());
-        FileUtils.writeStringToFile(binPath, abiAndBin.getBin());
-        FileUtils.writeStringToFile(smBinPath, abiAndBin.getSmBin());
+        // only the variant the chain needs may have been compiled
+        if (!abiAndBin.getBin().isEmpty()) {
+            FileUtils.writeStringToFile(binPath, abiAndBin.getBin());
+        }
+        if (!abiAndBin.getSmBin().isEmpty()) {
+            FileUtils.writeStringToFile(smBinPath, abiAndBin.getSmBin());
+        }
     }
 
     public static AbiAndBin loadAbiAndBin(
@@ -222,44 +298,11 @@ public class ContractCompiler {
             String contractAddress,
             boolean needCompile)
             throws IOException, CodeGenException, CompileContractException {
-        File abiPath =
-                new File(
-                        COMPILED_PATH
-                                + File.separator
-                                + groupId
-                                + File.separator
-                                + contractName
-                                + File.separator
-                                + contractAddress
-                                + File.separator
-                                + contractName
-                                + ABI_POSTFIX);
-        File binPath =
-                new File(
-                        COMPILED_PATH
-                                + File.separator
-                                + groupId
-                                + File.separator
-                                + contractName
-                                + File.separator
-                                + contractAddress
-                                + File.separator
-                                + contractName
-                                + BIN_POSTFIX);
-        File smBinPath =
-                new File(
-                        COMPILED_PATH
-                                + File.separator
-                                + groupId
-                                + File.separator
-                                + contractName
-                                + File.separator
-                                + contractAddress
-                                + File.separator
-                                + contractName
-                                + SM_POSTFIX
-                                + BIN_POSTFIX);
-        if (!abiPath.exists() || !binPath.exists() || !smBinPath.exists()) {
+        File[] compiledFiles = getCompiledFiles(groupId, contractName, contractAddress);
+        File abiPath = compiledFiles[0];
+        File binPath = compiledFiles[1];
+        File smBinPath = compiledFiles[2];
+        if (!abiPath.exists() || (!binPath.exists() && !smBinPath.exists())) {
             if (needCompile) {
                 AbiAndBin abiAndBin = ContractCompiler.compileContract(contractNameOrPath);
                 ContractCompiler.saveAbiAndBin(groupId, abiAndBin, contractName, contractAddress);
@@ -268,8 +311,9 @@ public class ContractCompiler {
             }
         }
         String abiContent = new String(CodeGenUtils.readBytes(abiPath));
-        String binContent = new String(CodeGenUtils.readBytes(binPath));
-        String smBinContent = new String(CodeGenUtils.readBytes(smBinPath));
+        String binContent = binPath.exists() ? new String(CodeGenUtils.readBytes(binPath)) : "";
+        String smBinContent =
+                smBinPath.exists() ? new String(CodeGenUtils.readBytes(smBinPath)) : "";
         return new AbiAndBin(abiContent, binContent, smBinContent);
     }
 }
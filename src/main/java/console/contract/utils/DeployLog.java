@@ -0,0 +1,222 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package console.contract.utils;
+
+import console.common.Common;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * The deploy log, the latest records are appended to deploylog.txt, which is rotated to
+ * deploylog.txt.{sequence} when it is full. Each group has an index of the position of its records
+ * so that the latest records of a group are read without scanning the log.
+ *
+ * <p>Index record: the sequence of the segment and the offset of the line in it, 16 bytes.
+ */
+public class DeployLog {
+    private static final String INDEX_DIR = ".deploylog/";
+    private static final String SEQUENCE_FILE = INDEX_DIR + "segment";
+    private static final String LOCK_FILE = INDEX_DIR + "lock";
+    private static final int INDEX_RECORD_SIZE = 16;
+    private static final Pattern GROUP_PATTERN = Pattern.compile("\\[group:(\\d+)\\]");
+
+    public static synchronized void append(Integer groupId, String log) throws IOException {
+        try (FileChannel lockChannel = openLock();
+                FileLock lock = lockChannel.lock()) {
+            long sequence = loadSequence();
+            File activeSegment = new File(Common.ContractLogFileName);
+            if (activeSegment.length() >= Common.DeployLogMaxSegmentSize) {
+                sequence = rotate(sequence);
+            }
+            long offset = activeSegment.length();
+            try (FileOutputStream output = new FileOutputStream(activeSegment, true)) {
+                output.write((log + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            }
+            appendIndex(groupId, sequence, offset);
+        }
+    }
+
+    /** @return the latest records of the group, the oldest first */
+    public static synchronized List<String> tail(Integer groupId, int recordNumber)
+            throws IOException {
+        List<String> records = new ArrayList<>();
+        try (FileChannel lockChannel = openLock();
+                FileLock lock = lockChannel.lock()) {
+            long activeSequence = loadSequence();
+            File indexFile = getIndexFile(groupId);
+            if (!indexFile.exists()) {
+                return records;
+            }
+            Map<Long, RandomAccessFile> segments = new HashMap<>();
+            try (RandomAccessFile index = new RandomAccessFile(indexFile, "r")) {
+                for (long i = index.length() / INDEX_RECORD_SIZE - 1;
+                        i >= 0 && records.size() < recordNumber;
+                        i--) {
+                    index.seek(i * INDEX_RECORD_SIZE);
+                    long sequence = index.readLong();
+                    long offset = index.readLong();
+                    RandomAccessFile segment = segments.get(sequence);
+                    if (segment == null) {
+                        File segmentFile = getSegmentFile(sequence, activeSequence);
+                        // the older segments have been removed
+                        if (!segmentFile.exists()) {
+                            break;
+                        }
+                        segment = new RandomAccessFile(segmentFile, "r");
+                        segments.put(sequence, segment);
+                    }
+                    records.add(readLine(segment, offset));
+                }
+            } finally {
+                for (RandomAccessFile segment : segments.values()) {
+                    segment.close();
+                }
+            }
+        }
+        Collections.reverse(records);
+        return records;
+    }
+
+    private static FileChannel openLock() throws IOException {
+        File lockFile = new File(LOCK_FILE);
+        lockFile.getParentFile().mkdirs();
+        return FileChannel.open(
+                lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /** index the deploy log written by the former versions of the console */
+    private static void buildIndex() throws IOException {
+        FileUtils.writeStringToFile(new File(SEQUENCE_FILE), "0", StandardCharsets.UTF_8);
+        File activeSegment = new File(Common.ContractLogFileName);
+        if (!activeSegment.exists()) {
+            return;
+        }
+        byte[] content = FileUtils.readFileToByteArray(activeSegment);
+        int lineStart = 0;
+        for (int i = 0; i <= content.length; i++) {
+            if (i == content.length || content[i] == '\n') {
+                String line = new String(content, lineStart, i - lineStart, StandardCharsets.UTF_8);
+                Matcher matcher = GROUP_PATTERN.matcher(line);
+                if (matcher.find()) {
+                    appendIndex(Integer.valueOf(matcher.group(1)), 0, lineStart);
+                }
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    private static long rotate(long sequence) throws IOException {
+        File activeSegment = new File(Common.ContractLogFileName);
+        if (!activeSegment.renameTo(getSegmentFile(sequence, -1))) {
+            throw new IOException("rotate " + Common.ContractLogFileName + " failed");
+        }
+        long expiredSequence = sequence - Common.DeployLogMaxSegments + 1;
+        if (expiredSequence >= 0) {
+            FileUtils.deleteQuietly(getSegmentFile(expiredSequence, -1));
+            removeExpiredIndex(expiredSequence);
+        }
+        sequence++;
+        FileUtils.writeStringToFile(
+                new File(SEQUENCE_FILE), String.valueOf(sequence), StandardCharsets.UTF_8);
+        return sequence;
+    }
+
+    /** drop the index records pointing to the removed segments */
+    private static void removeExpiredIndex(long expiredSequence) throws IOException {
+        File[] indexFiles = new File(INDEX_DIR).listFiles((dir, name) -> name.endsWith(".idx"));
+        if (indexFiles == null) {
+            return;
+        }
+        for (File indexFile : indexFiles) {
+            byte[] index = FileUtils.readFileToByteArray(indexFile);
+            int start = 0;
+            while (start + INDEX_RECORD_SIZE <= index.length
+                    && readLong(index, start) <= expiredSequence) {
+                start += INDEX_RECORD_SIZE;
+            }
+            if (start > 0) {
+                byte[] remaining = new byte[index.length - start];
+                System.arraycopy(index, start, remaining, 0, remaining.length);
+                FileUtils.writeByteArrayToFile(indexFile, remaining);
+            }
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    private static void appendIndex(Integer groupId, long sequence, long offset)
+            throws IOException {
+        try (DataOutputStream index =
+                new DataOutputStream(new FileOutputStream(getIndexFile(groupId), true))) {
+            index.writeLong(sequence);
+            index.writeLong(offset);
+        }
+    }
+
+    private static String readLine(RandomAccessFile segment, long offset) throws IOException {
+        segment.seek(offset);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = segment.read()) != -1 && b != '\n') {
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return new String(line.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static long loadSequence() throws IOException {
+        File sequenceFile = new File(SEQUENCE_FILE);
+        if (!sequenceFile.exists()) {
+            buildIndex();
+            return 0;
+        }
+        return Long.parseLong(
+                FileUtils.readFileToString(sequenceFile, StandardCharsets.UTF_8).trim());
+    }
+
+    private static File getSegmentFile(long sequence, long activeSequence) {
+        if (sequence == activeSequence) {
+            return new File(Common.ContractLogFileName);
+        }
+        return new File(Common.ContractLogFileName + "." + sequence);
+    }
+
+    private static File getIndexFile(Integer groupId) {
+        return new File(INDEX_DIR + "group" + groupId + ".idx");
+    }
+}
@@ -24,6 +24,10 @@ public interface PrecompiledFace {
 
     void desc(String[] params) throws Exception;
 
+    void importTable(String[] params) throws Exception;
+
+    void exportTable(String[] params) throws Exception;
+
     // ContractLifeCyclecompiled
     void freezeContract(String[] params) throws Exception;
 
@@ -1,20 +1,48 @@
 package console.precompiled;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import console.common.Common;
+import console.common.ConsoleMetrics;
 import console.common.ConsoleUtils;
+import console.common.ResultSink;
 import console.contract.exceptions.CompileContractException;
 import console.contract.model.AbiAndBin;
 import console.contract.utils.ContractCompiler;
 import console.exception.ConsoleMessageException;
 import console.precompiled.model.CRUDParseUtils;
+import console.precompiled.model.CsvReader;
+import console.precompiled.model.StatementCache;
+import console.precompiled.model.StatementCache.ParsedStatement;
 import console.precompiled.model.Table;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import net.sf.jsqlparser.JSQLParserException;
 import org.fisco.bcos.sdk.client.Client;
 import org.fisco.bcos.sdk.client.exceptions.ClientException;
@@ -40,6 +68,11 @@ import org.slf4j.LoggerFactory;
 public class PrecompiledImpl implements PrecompiledFace {
 
     private static final Logger logger = LoggerFactory.getLogger(PrecompiledImpl.class);
+    // in milliseconds
+    private static final long IMPORT_PROGRESS_INTERVAL = 5000;
+    private static final String KEYS_OPTION = "--keys";
+    private static final List<String> SYSTEM_COLUMNS =
+            Arrays.asList("_id_", "_hash_", "_status_", "_num_");
 
     private Client client;
     private ConsensusService consensusService;
@@ -178,9 +211,8 @@ public class PrecompiledImpl implements PrecompiledFace {
         }
         try {
             List<Map<String, String>> tableDesc = tableCRUDService.desc(tableName);
-            if (!checkTableExistence(tableName, tableDesc)) {
-                return;
-            }
+            TableDescCache.put(client.getGroupId(), tableName, tableDesc);
+            checkTableExistence(tableName, tableDesc);
             String tableInfo = ObjectMapperFactory.getObjectMapper().writeValueAsString(tableDesc);
             ConsoleUtils.printJson(tableInfo);
         } catch (Exception e) {
@@ -236,13 +268,11 @@ public class PrecompiledImpl implements PrecompiledFace {
         try {
             CRUDParseUtils.parseCreateTable(sql, table);
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
-            return;
+            throw e;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement.");
             CRUDParseUtils.invalidSymbol(sql);
-            return;
+            throw new ConsoleMessageException("Could not parse SQL statement.", e);
         }
         try {
             RetCode result =
@@ -250,17 +280,25 @@ public class PrecompiledImpl implements PrecompiledFace {
                             table.getTableName(), table.getKey(), table.getValueFields());
             // parse the result
             if (result.getCode() == PrecompiledRetCode.CODE_SUCCESS.getCode()) {
+                TableDescCache.put(
+                        client.getGroupId(),
+                        table.getTableName(),
+                        table.getKey(),
+                        table.getValueFields());
                 System.out.println("Create '" + table.getTableName() + "' Ok.");
             } else {
-                System.out.println("Create '" + table.getTableName() + "' failed ");
+                TableDescCache.invalidate(client.getGroupId(), table.getTableName());
                 ConsoleUtils.printJson(result.toString());
+                throw new ConsoleMessageException("Create '" + table.getTableName() + "' failed.");
             }
         } catch (ContractException e) {
             outputErrorMessageForTableCRUD(
                     table, null, sql, e.getErrorCode(), e.getMessage(), null);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (ClientException e) {
             outputErrorMessageForTableCRUD(
                     table, null, sql, e.getErrorCode(), e.getMessage(), null);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (Exception e) {
             throw e;
         }
@@ -302,9 +340,11 @@ public class PrecompiledImpl implements PrecompiledFace {
             int code,
             String message,
             List<Map<String, String>> descTable) {
-        System.out.println("call " + command + " failed!");
         System.out.println("* code: " + code);
         System.out.println("* message: " + message);
+        if (table != null && table.getTableName() != null) {
+            TableDescCache.invalidate(client.getGroupId(), table.getTableName());
+        }
 
         if (code != TransactionReceiptStatus.PrecompiledError.getCode()) {
             return;
@@ -395,15 +435,21 @@ public class PrecompiledImpl implements PrecompiledFace {
         Entry entry = new Entry();
         List<Map<String, String>> descTable = null;
         try {
-            String tableName = CRUDParseUtils.parseInsertedTableName(sql);
-            descTable = tableCRUDService.desc(tableName);
-            if (!checkTableExistence(tableName, descTable)) {
-                return;
-            }
+            // the statement is parsed once for the table name and the values
+            ParsedStatement parsedStatement = StatementCache.parse(sql);
+            String tableName = CRUDParseUtils.parseInsertedTableName(parsedStatement);
+            descTable = getTableDesc(tableName);
+            checkTableExistence(tableName, descTable);
             logger.debug(
                     "insert, tableName: {}, descTable: {}", tableName, descTable.get(0).toString());
-            CRUDParseUtils.parseInsert(sql, table, entry, descTable.get(0));
+            List<Entry> entries =
+                    CRUDParseUtils.parseInsert(parsedStatement, table, descTable.get(0));
             String keyName = descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME);
+            if (entries.size() > 1) {
+                insertRows(table.getTableName(), keyName, entries);
+                return;
+            }
+            entry = entries.get(0);
             String keyValue = entry.getFieldNameToValue().get(keyName);
             logger.debug(
                     "fieldNameToValue: {}, keyName: {}, keyValue: {}",
@@ -421,29 +467,275 @@ public class PrecompiledImpl implements PrecompiledFace {
                 System.out.println("Insert OK: ");
                 System.out.println(insertResult.getCode() + " row affected.");
             } else {
+                TableDescCache.invalidate(client.getGroupId(), table.getTableName());
                 System.out.println("Result of insert for " + table.getTableName() + ":");
                 ConsoleUtils.printJson(insertResult.toString());
+                throw new ConsoleMessageException(
+                        "Insert into " + table.getTableName() + " failed.");
             }
 
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
-            return;
+            throw e;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement, error message: " + e.getMessage());
             CRUDParseUtils.invalidSymbol(sql);
-            return;
+            throw new ConsoleMessageException(
+                    "Could not parse SQL statement, error message: " + e.getMessage(), e);
         } catch (ContractException e) {
             outputErrorMessageForTableCRUD(
                     table, entry, sql, e.getErrorCode(), e.getMessage(), descTable);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (ClientException e) {
             outputErrorMessageForTableCRUD(
                     table, entry, sql, e.getErrorCode(), e.getMessage(), descTable);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (Exception e) {
             throw e;
         }
     }
 
+    /**
+     * Inserts the rows of a multi-row statement one by one in the order of the statement, stops at
+     * the first row which fails since the rows inserted before it can't be rolled back.
+     */
+    private void insertRows(String tableName, String keyName, List<Entry> entries)
+            throws ConsoleMessageException {
+        int affectedRows = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            String keyValue = entry.getFieldNameToValue().get(keyName);
+            if (keyValue == null) {
+                throw new ConsoleMessageException(
+                        "Please insert the key field '" + keyName + "' of row " + (i + 1) + ".");
+            }
+            String message;
+            try {
+                RetCode insertResult = tableCRUDService.insert(tableName, keyValue, entry);
+                if (insertResult.getCode() >= 0) {
+                    affectedRows += insertResult.getCode();
+                    continue;
+                }
+                message = insertResult.getMessage();
+            } catch (ContractException | ClientException e) {
+                logger.error(" message: {}, e: {}", e.getMessage(), e);
+                message = e.getMessage();
+            }
+            TableDescCache.invalidate(client.getGroupId(), tableName);
+            throw new ConsoleMessageException(
+                    "Insert into "
+                            + tableName
+                            + " failed at row "
+                            + (i + 1)
+                            + ": "
+                            + message
+                            + ", "
+                            + i
+                            + " rows before it were inserted.");
+        }
+        System.out.println("Insert OK: ");
+        System.out.println(affectedRows + " row affected.");
+    }
+
+    @Override
+    public void importTable(String[] params) throws Exception {
+        String tableName = params[1];
+        File csvFile = new File(params[2]);
+        if (!csvFile.isFile()) {
+            throw new ConsoleMessageException(
+                    "The file " + csvFile.getAbsolutePath() + " doesn't exist.");
+        }
+        int concurrency = Common.DefaultImportConcurrency;
+        if (params.length > 3) {
+            concurrency =
+                    ConsoleUtils.proccessNonNegativeNumber(
+                            "concurrency", params[3], 1, Common.MaxImportConcurrency);
+        }
+        // the descriptor is queried once for all the rows
+        List<Map<String, String>> descTable = getTableDesc(tableName);
+        checkTableExistence(tableName, descTable);
+        Map<String, String> tableDesc = descTable.get(0);
+        String keyName = tableDesc.get(PrecompiledConstant.KEY_FIELD_NAME);
+        Set<String> tableFields = new HashSet<>();
+        tableFields.add(keyName);
+        Collections.addAll(
+                tableFields, tableDesc.get(PrecompiledConstant.VALUE_FIELD_NAME).split(","));
+
+        BatchInserter inserter = new BatchInserter(tableName, keyName, concurrency);
+        boolean completed = false;
+        try (CsvReader reader =
+                new CsvReader(
+                        new BufferedReader(
+                                new InputStreamReader(
+                                        new FileInputStream(csvFile), StandardCharsets.UTF_8)))) {
+            List<String> columnNames = null;
+            boolean firstRecord = true;
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                long lineNumber = reader.getRecordLineNumber();
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+                if (firstRecord) {
+                    firstRecord = false;
+                    // skip the byte order mark written by some editors
+                    if (record.get(0).startsWith("\uFEFF")) {
+                        record.set(0, record.get(0).substring(1));
+                    }
+                    // the first record is the header if it names all the fields of the table
+                    List<String> header = new ArrayList<>();
+                    for (String field : record) {
+                        header.add(field.trim());
+                    }
+                    if (header.size() == tableFields.size()
+                            && new HashSet<>(header).equals(tableFields)) {
+                        columnNames = header;
+                        continue;
+                    }
+                }
+                Entry entry;
+                try {
+                    entry =
+                            CRUDParseUtils.parseInsertedEntry(
+                                    columnNames, record.toArray(new String[0]), tableDesc);
+                } catch (ConsoleMessageException e) {
+                    inserter.fail(lineNumber, e.getMessage());
+                    continue;
+                }
+                inserter.submit(lineNumber, entry);
+            }
+            completed = true;
+        } catch (IOException e) {
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+            throw new ConsoleMessageException(
+                    "Read " + csvFile.getAbsolutePath() + " failed, error info: " + e.getMessage(),
+                    e);
+        } finally {
+            inserter.finish(completed);
+        }
+        inserter.checkFailures();
+    }
+
+    /**
+     * Inserts the rows of an imported file into the table concurrently, at most 2 * concurrency
+     * rows are in flight so that the rows of a large file are not all held in memory.
+     */
+    private class BatchInserter {
+        private final String tableName;
+        private final String keyName;
+        private final ExecutorService executor;
+        private final Semaphore inFlightRows;
+        private final AtomicLong successRows = new AtomicLong();
+        private final AtomicLong failedRows = new AtomicLong();
+        private final AtomicLong affectedRows = new AtomicLong();
+        // the failures of the first rows, at most Common.QueryLogCount
+        private final ConcurrentSkipListMap<Long, String> failures = new ConcurrentSkipListMap<>();
+        private final long startTime = System.currentTimeMillis();
+        private long submittedRows;
+        private long lastProgressTime = startTime;
+
+        private BatchInserter(String tableName, String keyName, int concurrency) {
+            this.tableName = tableName;
+            this.keyName = keyName;
+            this.executor = ConsoleMetrics.newFixedThreadPool(concurrency);
+            this.inFlightRows = new Semaphore(2 * concurrency);
+        }
+
+        private void submit(long rowNumber, Entry entry) throws InterruptedException {
+            String key = entry.getFieldNameToValue().get(keyName);
+            if (key == null) {
+                fail(rowNumber, "Please insert the key field '" + keyName + "'.");
+                return;
+            }
+            inFlightRows.acquire();
+            submittedRows++;
+            executor.execute(
+                    () -> {
+                        try {
+                            RetCode insertResult = tableCRUDService.insert(tableName, key, entry);
+                            if (insertResult.getCode() >= 0) {
+                                successRows.incrementAndGet();
+                                affectedRows.addAndGet(insertResult.getCode());
+                            } else {
+                                fail(rowNumber, insertResult.getMessage());
+                            }
+                        } catch (Exception e) {
+                            fail(rowNumber, e.getMessage());
+                        } finally {
+                            inFlightRows.release();
+                        }
+                    });
+            if (System.currentTimeMillis() - lastProgressTime >= IMPORT_PROGRESS_INTERVAL) {
+                printProgress();
+            }
+        }
+
+        private void fail(long rowNumber, String message) {
+            failedRows.incrementAndGet();
+            logger.error(
+                    " insert into {} failed, row: {}, message: {}", tableName, rowNumber, message);
+            failures.put(rowNumber, String.valueOf(message));
+            if (failures.size() > Common.QueryLogCount) {
+                failures.pollLastEntry();
+            }
+        }
+
+        private void printProgress() {
+            lastProgressTime = System.currentTimeMillis();
+            System.out.println(
+                    "inserted: "
+                            + successRows.get()
+                            + ", failed: "
+                            + failedRows.get()
+                            + ", submitted: "
+                            + submittedRows);
+        }
+
+        /**
+         * wait for the rows in flight and print the report
+         *
+         * @param completed all the rows of the file were submitted, "Insert OK" is only printed
+         *     if they were and none of them failed
+         */
+        private void finish(boolean completed) throws InterruptedException {
+            executor.shutdown();
+            while (!executor.awaitTermination(IMPORT_PROGRESS_INTERVAL, TimeUnit.MILLISECONDS)) {
+                printProgress();
+            }
+            long timeCost = Math.max(1, System.currentTimeMillis() - startTime);
+            System.out.println(
+                    (completed && failedRows.get() == 0 ? "Insert OK: " : "Inserted: ")
+                            + successRows.get()
+                            + " rows, failed: "
+                            + failedRows.get()
+                            + " rows, time cost: "
+                            + timeCost
+                            + " ms, rows per second: "
+                            + String.format("%.2f", successRows.get() * 1000.0 / timeCost));
+            System.out.println(affectedRows.get() + " row affected.");
+            if (failures.isEmpty()) {
+                return;
+            }
+            System.out.println("Failed rows:");
+            for (Map.Entry<Long, String> failure : failures.entrySet()) {
+                System.out.println("* line " + failure.getKey() + ": " + failure.getValue());
+            }
+            if (failedRows.get() > failures.size()) {
+                System.out.println(
+                        "* ... "
+                                + (failedRows.get() - failures.size())
+                                + " more failed rows, please check the log for details.");
+            }
+        }
+
+        /** @throws ConsoleMessageException if any row failed, after finish printed the report */
+        private void checkFailures() throws ConsoleMessageException {
+            if (failedRows.get() > 0) {
+                throw new ConsoleMessageException(
+                        "Insert into " + tableName + " failed for " + failedRows.get() + " rows.");
+            }
+        }
+    }
+
     @Override
     public void update(String sql) throws Exception {
         Table table = new Table();
@@ -453,24 +745,20 @@ public class PrecompiledImpl implements PrecompiledFace {
         try {
             CRUDParseUtils.parseUpdate(sql, table, entry, condition);
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
-            return;
+            throw e;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement.");
             CRUDParseUtils.invalidSymbol(sql);
-            return;
+            throw new ConsoleMessageException("Could not parse SQL statement.", e);
         }
         try {
             String tableName = table.getTableName();
-            descTable = tableCRUDService.desc(tableName);
-            if (!checkTableExistence(table.getTableName(), descTable)) {
-                return;
-            }
+            descTable = getTableDesc(tableName);
+            checkTableExistence(table.getTableName(), descTable);
             String keyName = descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME);
             if (entry.getFieldNameToValue().containsKey(keyName)) {
-                System.out.println("Please don't set the key field \"" + keyName + "\".");
-                return;
+                throw new ConsoleMessageException(
+                        "Please don't set the key field \"" + keyName + "\".");
             }
             table.setKey(keyName);
             handleKey(table, condition);
@@ -479,16 +767,20 @@ public class PrecompiledImpl implements PrecompiledFace {
             if (updateResult.getCode() >= 0) {
                 System.out.println(updateResult.getCode() + " row affected.");
             } else {
+                TableDescCache.invalidate(client.getGroupId(), tableName);
                 System.out.println("Result of update " + tableName + " :");
                 ConsoleUtils.printJson(updateResult.toString());
+                throw new ConsoleMessageException("Update " + tableName + " failed.");
             }
 
         } catch (ContractException e) {
             outputErrorMessageForTableCRUD(
                     table, entry, sql, e.getErrorCode(), e.getMessage(), descTable);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (ClientException e) {
             outputErrorMessageForTableCRUD(
                     table, entry, sql, e.getErrorCode(), e.getMessage(), descTable);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (Exception e) {
             throw e;
         }
@@ -502,19 +794,15 @@ public class PrecompiledImpl implements PrecompiledFace {
         try {
             CRUDParseUtils.parseRemove(sql, table, condition);
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
-            return;
+            throw e;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement.");
             CRUDParseUtils.invalidSymbol(sql);
-            return;
+            throw new ConsoleMessageException("Could not parse SQL statement.", e);
         }
         try {
-            descTable = tableCRUDService.desc(table.getTableName());
-            if (!checkTableExistence(table.getTableName(), descTable)) {
-                return;
-            }
+            descTable = getTableDesc(table.getTableName());
+            checkTableExistence(table.getTableName(), descTable);
             table.setKey(descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME));
             handleKey(table, condition);
             RetCode removeResult =
@@ -523,27 +811,41 @@ public class PrecompiledImpl implements PrecompiledFace {
             if (removeResult.getCode() >= 0) {
                 System.out.println("Remove OK, " + removeResult.getCode() + " row affected.");
             } else {
+                TableDescCache.invalidate(client.getGroupId(), table.getTableName());
                 System.out.println("Result of Remove " + table.getTableName() + " :");
                 ConsoleUtils.printJson(removeResult.toString());
+                throw new ConsoleMessageException(
+                        "Remove from " + table.getTableName() + " failed.");
             }
         } catch (ContractException e) {
             outputErrorMessageForTableCRUD(
                     table, null, sql, e.getErrorCode(), e.getMessage(), descTable);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (ClientException e) {
             outputErrorMessageForTableCRUD(
                     table, null, sql, e.getErrorCode(), e.getMessage(), descTable);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (Exception e) {
             throw e;
         }
     }
 
-    private boolean checkTableExistence(String tableName, List<Map<String, String>> descTable) {
+    /** @return the descriptor of the table, queried from the node if it is not cached */
+    private List<Map<String, String>> getTableDesc(String tableName) throws ContractException {
+        List<Map<String, String>> descTable = TableDescCache.get(client.getGroupId(), tableName);
+        if (descTable == null) {
+            descTable = tableCRUDService.desc(tableName);
+            TableDescCache.put(client.getGroupId(), tableName, descTable);
+        }
+        return descTable;
+    }
+
+    private void checkTableExistence(String tableName, List<Map<String, String>> descTable)
+            throws ConsoleMessageException {
         if (descTable.size() == 0
                 || descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME).equals("")) {
-            System.out.println("The table \"" + tableName + "\" doesn't exist!");
-            return false;
+            throw new ConsoleMessageException("The table \"" + tableName + "\" doesn't exist!");
         }
-        return true;
     }
 
     @Override
@@ -552,46 +854,70 @@ public class PrecompiledImpl implements PrecompiledFace {
         Condition condition = new Condition();
         List<String> selectColumns = new ArrayList<>();
         List<Map<String, String>> descTable = null;
+        String outFile = CRUDParseUtils.parseOutFile(sql);
         try {
-            CRUDParseUtils.parseSelect(sql, table, condition, selectColumns);
+            CRUDParseUtils.parseSelect(
+                    CRUDParseUtils.removeOutFile(sql), table, condition, selectColumns);
         } catch (ConsoleMessageException e) {
-            System.out.println(e.getMessage());
             logger.error(" message: {}, e: {}", e.getMessage(), e);
-            return;
+            throw e;
         } catch (JSQLParserException | NullPointerException e) {
-            System.out.println("Could not parse SQL statement.");
             CRUDParseUtils.invalidSymbol(sql);
-            return;
+            throw new ConsoleMessageException("Could not parse SQL statement.", e);
         }
         try {
-            descTable = tableCRUDService.desc(table.getTableName());
-            if (!checkTableExistence(table.getTableName(), descTable)) {
-                return;
-            }
+            descTable = getTableDesc(table.getTableName());
+            checkTableExistence(table.getTableName(), descTable);
             String keyField = descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME);
             table.setKey(keyField);
             handleKey(table, condition);
-            List<Map<String, String>> result =
-                    tableCRUDService.select(table.getTableName(), table.getKey(), condition);
-            int rows = 0;
-            if (result.size() == 0) {
-                System.out.println("Empty set.");
-                return;
-            }
-            result = filterSystemColum(result);
             if ("*".equals(selectColumns.get(0))) {
                 selectColumns.clear();
                 selectColumns.add(keyField);
                 String[] valueArr =
                         descTable.get(0).get(PrecompiledConstant.VALUE_FIELD_NAME).split(",");
                 selectColumns.addAll(Arrays.asList(valueArr));
-                result = getSelectedColumn(selectColumns, result);
-                rows = result.size();
+            }
+            selectColumns.removeAll(SYSTEM_COLUMNS);
+
+            long rows;
+            if (outFile == null) {
+                ResultSink resultSink = ConsoleUtils.getResultSink();
+                rows =
+                        selectPages(
+                                table,
+                                condition,
+                                ConsoleUtils.isInteractive(),
+                                record -> resultSink.record(selectRecord(selectColumns, record)),
+                                resultSink);
             } else {
-                List<Map<String, String>> selectedResult = getSelectedColumn(selectColumns, result);
-                rows = selectedResult.size();
+                File file = new File(outFile);
+                if (file.getAbsoluteFile().getParentFile() != null) {
+                    file.getAbsoluteFile().getParentFile().mkdirs();
+                }
+                try (Writer writer =
+                        new BufferedWriter(
+                                new OutputStreamWriter(
+                                        new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                    rows =
+                            selectPages(
+                                    table,
+                                    condition,
+                                    false,
+                                    newExportHandler(file, selectColumns, writer),
+                                    writer);
+                }
+                System.out.println(
+                        "Export "
+                                + rows
+                                + (rows == 1 ? " row" : " rows")
+                                + " to "
+                                + file.getAbsolutePath());
+                return;
             }
-            if (rows == 1) {
+            if (rows == 0) {
+                System.out.println("Empty set.");
+            } else if (rows == 1) {
                 System.out.println(rows + " row in set.");
             } else {
                 System.out.println(rows + " rows in set.");
@@ -599,50 +925,237 @@ public class PrecompiledImpl implements PrecompiledFace {
         } catch (ContractException e) {
             outputErrorMessageForTableCRUD(
                     table, null, sql, e.getErrorCode(), e.getMessage(), descTable);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (ClientException e) {
             outputErrorMessageForTableCRUD(
                     table, null, sql, e.getErrorCode(), e.getMessage(), descTable);
+            throw new ConsoleMessageException("call " + sql + " failed!");
         } catch (Exception e) {
             throw e;
         }
     }
 
-    private List<Map<String, String>> getSelectedColumn(
-            List<String> selectColumns, List<Map<String, String>> result) {
-        List<Map<String, String>> selectedResult = new ArrayList<>(result.size());
-        Map<String, String> selectedRecords;
-        for (Map<String, String> records : result) {
-            selectedRecords = new LinkedHashMap<>();
-            for (String column : selectColumns) {
-                Set<String> recordKeys = records.keySet();
-                for (String recordKey : recordKeys) {
-                    if (recordKey.equals(column)) {
-                        selectedRecords.put(recordKey, records.get(recordKey));
-                    }
+    private interface RecordHandler {
+        void handle(Map<String, String> record) throws IOException;
+    }
+
+    /** @return the handler writing CSV to the .csv files and JSON Lines to the other files */
+    private RecordHandler newExportHandler(File file, List<String> columns, Writer writer)
+            throws IOException {
+        if (file.getName().toLowerCase().endsWith(".csv")) {
+            writer.write(CsvReader.formatRecord(columns, null));
+            return record -> writer.write(CsvReader.formatRecord(columns, record));
+        }
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        return record -> {
+            writer.write(objectMapper.writeValueAsString(selectRecord(columns, record)));
+            writer.write('\n');
+        };
+    }
+
+    @Override
+    public void exportTable(String[] params) throws Exception {
+        String tableName = params[1];
+        Iterator<String> keys;
+        BufferedReader keyReader = null;
+        int outFileIndex;
+        if (KEYS_OPTION.equals(params[2])) {
+            if (params.length < 5) {
+                throw new ConsoleMessageException(
+                        "Please provide the output file after the keys. Try \"exportTable -h\".");
+            }
+            keys =
+                    Arrays.stream(params[3].split(","))
+                            .map(String::trim)
+                            .filter(key -> !key.isEmpty())
+                            .iterator();
+            outFileIndex = 4;
+        } else {
+            File keyFile = new File(params[2]);
+            if (!keyFile.isFile()) {
+                throw new ConsoleMessageException(
+                        "The file " + keyFile.getAbsolutePath() + " doesn't exist.");
+            }
+            if (params.length > 5) {
+                throw new ConsoleMessageException(
+                        "Too many parameters of exportTable. Try \"exportTable -h\".");
+            }
+            keyReader =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    new FileInputStream(keyFile), StandardCharsets.UTF_8));
+            keys = keyReader.lines().map(String::trim).filter(key -> !key.isEmpty()).iterator();
+            outFileIndex = 3;
+        }
+        try {
+            File outFile = new File(params[outFileIndex]);
+            int concurrency = Common.DefaultExportConcurrency;
+            if (params.length > outFileIndex + 1) {
+                concurrency =
+                        ConsoleUtils.proccessNonNegativeNumber(
+                                "concurrency",
+                                params[outFileIndex + 1],
+                                1,
+                                Common.MaxExportConcurrency);
+            }
+            List<Map<String, String>> descTable = getTableDesc(tableName);
+            checkTableExistence(tableName, descTable);
+            String keyField = descTable.get(0).get(PrecompiledConstant.KEY_FIELD_NAME);
+            List<String> columns = new ArrayList<>();
+            columns.add(keyField);
+            Collections.addAll(
+                    columns, descTable.get(0).get(PrecompiledConstant.VALUE_FIELD_NAME).split(","));
+            if (outFile.getAbsoluteFile().getParentFile() != null) {
+                outFile.getAbsoluteFile().getParentFile().mkdirs();
+            }
+            exportKeys(tableName, keyField, keys, columns, outFile, concurrency);
+        } finally {
+            if (keyReader != null) {
+                keyReader.close();
+            }
+        }
+    }
+
+    private void exportKeys(
+            String tableName,
+            String keyField,
+            Iterator<String> keys,
+            List<String> columns,
+            File outFile,
+            int concurrency)
+            throws Exception {
+        ExecutorService executor = ConsoleMetrics.newFixedThreadPool(concurrency);
+        // the keys are selected concurrently but written in order, at most 2 * concurrency keys
+        // are in flight or waiting to be written
+        Deque<String> windowKeys = new ArrayDeque<>();
+        Deque<Future<List<Map<String, String>>>> window = new ArrayDeque<>();
+        long exportedKeys = 0;
+        long exportedRecords = 0;
+        long startTime = System.currentTimeMillis();
+        long lastProgressTime = startTime;
+        try (Writer writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                new FileOutputStream(outFile), StandardCharsets.UTF_8))) {
+            RecordHandler handler = newExportHandler(outFile, columns, writer);
+            while (keys.hasNext() || !window.isEmpty()) {
+                while (keys.hasNext() && window.size() < 2 * concurrency) {
+                    // the keys are checked as the key in the where clause of select
+                    Table table = new Table();
+                    table.setTableName(tableName);
+                    table.setKey(keyField);
+                    Condition condition = new Condition();
+                    condition.EQ(keyField, keys.next());
+                    handleKey(table, condition);
+                    String nextKey = table.getKey();
+                    windowKeys.add(nextKey);
+                    window.add(
+                            executor.submit(
+                                    () -> tableCRUDService.select(tableName, nextKey, condition)));
+                }
+                String key = windowKeys.poll();
+                List<Map<String, String>> records;
+                try {
+                    records = window.poll().get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() == null ? e : e.getCause();
+                    logger.error(" message: {}, e: {}", cause.getMessage(), cause);
+                    throw new ConsoleMessageException(
+                            "Select the records of the key "
+                                    + key
+                                    + " failed, the records of "
+                                    + exportedKeys
+                                    + " keys have been written to "
+                                    + outFile.getAbsolutePath()
+                                    + ", error info: "
+                                    + cause.getMessage(),
+                            cause);
+                }
+                for (Map<String, String> record : records) {
+                    handler.handle(record);
+                }
+                exportedKeys++;
+                exportedRecords += records.size();
+                if (System.currentTimeMillis() - lastProgressTime >= IMPORT_PROGRESS_INTERVAL) {
+                    lastProgressTime = System.currentTimeMillis();
+                    System.out.println(
+                            "exported keys: " + exportedKeys + ", records: " + exportedRecords);
                 }
             }
-            selectedResult.add(selectedRecords);
+        } finally {
+            executor.shutdownNow();
         }
-        selectedResult.stream().forEach(System.out::println);
-        return selectedResult;
+        long timeCost = Math.max(1, System.currentTimeMillis() - startTime);
+        System.out.println(
+                "Export "
+                        + exportedRecords
+                        + " records of "
+                        + exportedKeys
+                        + " keys to "
+                        + outFile.getAbsolutePath()
+                        + ", time cost: "
+                        + timeCost
+                        + " ms, keys per second: "
+                        + String.format("%.2f", exportedKeys * 1000.0 / timeCost));
     }
 
-    private List<Map<String, String>> filterSystemColum(List<Map<String, String>> result) {
+    /**
+     * select the records page by page within the limit of the statement, so that only a page of
+     * the records is held in memory
+     *
+     * @param prompt ask the user before selecting the next page
+     * @return the number of the records
+     */
+    private long selectPages(
+            Table table,
+            Condition condition,
+            boolean prompt,
+            RecordHandler handler,
+            Flushable output)
+            throws Exception {
+        int pageSize = prompt ? Common.SelectPageSize : Common.SelectFetchSize;
+        int offset = table.getLimitOffset();
+        long remaining = table.getLimitCount() < 0 ? Long.MAX_VALUE : table.getLimitCount();
+        long rows = 0;
+        while (remaining > 0) {
+            int count = (int) Math.min(pageSize, remaining);
+            condition.Limit(offset, count);
+            List<Map<String, String>> records =
+                    tableCRUDService.select(table.getTableName(), table.getKey(), condition);
+            for (Map<String, String> record : records) {
+                handler.handle(record);
+            }
+            output.flush();
+            rows += records.size();
+            offset += records.size();
+            remaining -= records.size();
+            if (records.size() < count || remaining <= 0) {
+                break;
+            }
+            if (prompt && !promptNextPage(rows)) {
+                break;
+            }
+        }
+        return rows;
+    }
 
-        List<String> filteredColumns = Arrays.asList("_id_", "_hash_", "_status_", "_num_");
-        List<Map<String, String>> filteredResult = new ArrayList<>(result.size());
-        Map<String, String> filteredRecords;
-        for (Map<String, String> records : result) {
-            filteredRecords = new LinkedHashMap<>();
-            Set<String> recordKeys = records.keySet();
-            for (String recordKey : recordKeys) {
-                if (!filteredColumns.contains(recordKey)) {
-                    filteredRecords.put(recordKey, records.get(recordKey));
-                }
+    /** @return false if the user quits */
+    private boolean promptNextPage(long rows) {
+        String input =
+                ConsoleUtils.readPromptLine(
+                        "-- " + rows + " rows, press Enter for the next page or q to quit -- ");
+        return input != null && !"q".equalsIgnoreCase(input.trim());
+    }
+
+    /** @return the selected columns of the record in the order of the columns */
+    private Map<String, String> selectRecord(List<String> columns, Map<String, String> record) {
+        Map<String, String> selectedRecord = new LinkedHashMap<>();
+        for (String column : columns) {
+            if (record.containsKey(column)) {
+                selectedRecord.put(column, record.get(column));
             }
-            filteredResult.add(filteredRecords);
         }
-        return filteredResult;
+        return selectedRecord;
     }
 
     private void handleKey(Table table, Condition condition) throws Exception {
@@ -0,0 +1,72 @@
+package console.precompiled;
+
+import console.common.Common;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.fisco.bcos.sdk.model.PrecompiledConstant;
+
+/**
+ * The descriptors of the user tables of each group, so that the CRUD commands do not query the
+ * descriptor before each statement. The tables which don't exist are not cached, an entry is
+ * dropped after Common.TableDescCacheTTL or when a statement on the table fails.
+ */
+public class TableDescCache {
+    private static final Map<String, CachedDesc> tableDescs = new ConcurrentHashMap<>();
+
+    private static class CachedDesc {
+        private final List<Map<String, String>> desc;
+        private final long expireTime;
+
+        private CachedDesc(List<Map<String, String>> desc, long expireTime) {
+            this.desc = desc;
+            this.expireTime = expireTime;
+        }
+    }
+
+    /** @return the descriptor of the table, null if it is not cached */
+    public static List<Map<String, String>> get(Integer groupId, String tableName) {
+        String key = getKey(groupId, tableName);
+        CachedDesc cachedDesc = tableDescs.get(key);
+        if (cachedDesc == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= cachedDesc.expireTime) {
+            tableDescs.remove(key, cachedDesc);
+            return null;
+        }
+        return cachedDesc.desc;
+    }
+
+    public static void put(Integer groupId, String tableName, List<Map<String, String>> desc) {
+        if (desc == null
+                || desc.isEmpty()
+                || desc.get(0).get(PrecompiledConstant.KEY_FIELD_NAME) == null
+                || desc.get(0).get(PrecompiledConstant.KEY_FIELD_NAME).isEmpty()) {
+            invalidate(groupId, tableName);
+            return;
+        }
+        tableDescs.put(
+                getKey(groupId, tableName),
+                new CachedDesc(desc, System.currentTimeMillis() + Common.TableDescCacheTTL));
+    }
+
+    /** cache the descriptor of the table created by the console */
+    public static void put(
+            Integer groupId, String tableName, String keyField, List<String> valueFields) {
+        Map<String, String> desc = new HashMap<>();
+        desc.put(PrecompiledConstant.KEY_FIELD_NAME, keyField);
+        desc.put(PrecompiledConstant.VALUE_FIELD_NAME, String.join(",", valueFields));
+        put(groupId, tableName, Collections.singletonList(desc));
+    }
+
+    public static void invalidate(Integer groupId, String tableName) {
+        tableDescs.remove(getKey(groupId, tableName));
+    }
+
+    private static String getKey(Integer groupId, String tableName) {
+        return groupId + ":" + tableName;
+    }
+}
@@ -2,11 +2,15 @@ package console.precompiled.model;
 
 import console.common.Common;
 import console.exception.ConsoleMessageException;
+import console.precompiled.model.StatementCache.ParsedStatement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.BinaryExpression;
 import net.sf.jsqlparser.expression.Expression;
@@ -20,6 +24,7 @@ import net.sf.jsqlparser.expression.operators.relational.InExpression;
 import net.sf.jsqlparser.expression.operators.relational.IsNullExpression;
 import net.sf.jsqlparser.expression.operators.relational.ItemsList;
 import net.sf.jsqlparser.expression.operators.relational.LikeExpression;
+import net.sf.jsqlparser.expression.operators.relational.MultiExpressionList;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.statement.Statement;
@@ -46,6 +51,9 @@ import org.slf4j.LoggerFactory;
 public class CRUDParseUtils {
     private static final Logger logger = LoggerFactory.getLogger(CRUDParseUtils.class);
     public static final String PRIMARY_KEY = "primary key";
+    // the INTO OUTFILE clause of MySQL, which is not supported by the parser
+    private static final Pattern OUTFILE_PATTERN =
+            Pattern.compile("(?i)\\s+into\\s+outfile\\s+(['\"])(.+?)\\1\\s*;?\\s*$");
 
     public static void parseCreateTable(String sql, Table table)
             throws JSQLParserException, ConsoleMessageException {
@@ -122,10 +130,9 @@ public class CRUDParseUtils {
         table.setValueFields(fieldsList);
     }
 
-    public static String parseInsertedTableName(String sql)
-            throws JSQLParserException, ConsoleMessageException {
-        Statement statement = CCJSqlParserUtil.parse(sql);
-        Insert insert = (Insert) statement;
+    public static String parseInsertedTableName(ParsedStatement parsedStatement)
+            throws ConsoleMessageException {
+        Insert insert = (Insert) parsedStatement.getStatement();
 
         if (insert.getSelect() != null) {
             throw new ConsoleMessageException("The insert select clause is not supported.");
@@ -134,16 +141,11 @@ public class CRUDParseUtils {
         return insert.getTable().getName();
     }
 
-    public static boolean parseInsert(
-            String sql, Table table, Entry entry, Map<String, String> tableDesc)
-            throws JSQLParserException, ConsoleMessageException {
-        Statement statement = CCJSqlParserUtil.parse(sql);
-        Insert insert = (Insert) statement;
-        String valueFieldString = tableDesc.get(PrecompiledConstant.VALUE_FIELD_NAME);
-        String[] valueFields = valueFieldString.split(",");
-        String expectedValueField =
-                tableDesc.get(PrecompiledConstant.KEY_FIELD_NAME) + ", " + valueFieldString;
-        int expectedValueNum = valueFields.length + 1;
+    /** @return the entries of the rows in the VALUES clause, the multi-row inserts included */
+    public static List<Entry> parseInsert(
+            ParsedStatement parsedStatement, Table table, Map<String, String> tableDesc)
+            throws ConsoleMessageException {
+        Insert insert = (Insert) parsedStatement.getStatement();
 
         if (insert.getSelect() != null) {
             throw new ConsoleMessageException("The insert select clause is not supported.");
@@ -154,69 +156,94 @@ public class CRUDParseUtils {
 
         // parse columns
         List<Column> columns = insert.getColumns();
+        List<String> columnNames = null;
+        if (columns != null) {
+            columnNames = new ArrayList<>();
+            for (Column column : columns) {
+                columnNames.add(trimQuotes(column.toString()));
+            }
+        }
         ItemsList itemsList = insert.getItemsList();
+        List<ExpressionList> rows;
+        if (itemsList instanceof MultiExpressionList) {
+            rows = ((MultiExpressionList) itemsList).getExprList();
+        } else {
+            rows = Collections.singletonList((ExpressionList) itemsList);
+        }
 
-        ExpressionList expressionList = (ExpressionList) itemsList;
-        List<Expression> expressions = expressionList.getExpressions();
-
-        String[] itemArr = new String[expressions.size()];
-        for (int i = 0; i < expressions.size(); i++) {
-            itemArr[i] = expressions.get(i).toString().trim();
+        List<Entry> entries = new ArrayList<>(rows.size());
+        for (ExpressionList row : rows) {
+            List<Expression> expressions = row.getExpressions();
+            String[] itemArr = new String[expressions.size()];
+            for (int i = 0; i < expressions.size(); i++) {
+                itemArr[i] = trimQuotes(parsedStatement.valueOf(expressions.get(i)).trim());
+            }
+            entries.add(parseInsertedEntry(columnNames, itemArr, tableDesc));
         }
-        if (columns != null) {
-            if (columns.size() != itemArr.length) {
+        return entries;
+    }
+
+    /**
+     * @param columnNames the fields of the values, null if the values are the key and the value
+     *     fields in the order of the table
+     */
+    public static Entry parseInsertedEntry(
+            List<String> columnNames, String[] values, Map<String, String> tableDesc)
+            throws ConsoleMessageException {
+        String valueFieldString = tableDesc.get(PrecompiledConstant.VALUE_FIELD_NAME);
+        String[] valueFields = valueFieldString.split(",");
+        String expectedValueField =
+                tableDesc.get(PrecompiledConstant.KEY_FIELD_NAME) + ", " + valueFieldString;
+        int expectedValueNum = valueFields.length + 1;
+
+        Entry entry = new Entry();
+        if (columnNames != null) {
+            if (columnNames.size() != values.length) {
                 throw new ConsoleMessageException("Column count doesn't match value count.");
             }
-            if (expectedValueNum != columns.size()) {
+            if (expectedValueNum != columnNames.size()) {
                 throw new ConsoleMessageException(
                         "Column count doesn't match value count, fields size: "
                                 + valueFields.length
                                 + ", provided field value size: "
-                                + columns.size()
+                                + columnNames.size()
                                 + ", expected field list: "
                                 + expectedValueField);
             }
-            List<String> columnNames = new ArrayList<>();
-            for (Column column : columns) {
-                String columnName = trimQuotes(column.toString());
-                if (columnNames.contains(columnName)) {
+            for (int i = 0; i < columnNames.size(); i++) {
+                String columnName = columnNames.get(i);
+                if (entry.getFieldNameToValue().containsKey(columnName)) {
                     throw new ConsoleMessageException(
                             "Please provide the field '" + columnName + "' only once.");
-                } else {
-                    columnNames.add(columnName);
                 }
+                entry.getFieldNameToValue().put(columnName, values[i]);
             }
-            for (int i = 0; i < columnNames.size(); i++) {
-                entry.getFieldNameToValue().put(columnNames.get(i), trimQuotes(itemArr[i]));
-            }
-            return false;
         } else {
             String keyField = tableDesc.get(PrecompiledConstant.KEY_FIELD_NAME);
-            if (expectedValueNum != itemArr.length) {
+            if (expectedValueNum != values.length) {
                 throw new ConsoleMessageException(
                         "Column count doesn't match value count, fields size: "
                                 + valueFields.length
                                 + ", provided field value size: "
-                                + itemArr.length
+                                + values.length
                                 + ", expected field list: "
                                 + expectedValueField);
             }
-            String[] allFields = new String[itemArr.length];
+            String[] allFields = new String[values.length];
             allFields[0] = keyField;
             System.arraycopy(valueFields, 0, allFields, 1, valueFields.length);
-            for (int i = 0; i < itemArr.length; i++) {
-                entry.getFieldNameToValue().put(allFields[i], trimQuotes(itemArr[i]));
+            for (int i = 0; i < values.length; i++) {
+                entry.getFieldNameToValue().put(allFields[i], values[i]);
             }
-            return true;
         }
+        return entry;
     }
 
     public static void parseSelect(
             String sql, Table table, Condition condition, List<String> selectColumns)
             throws JSQLParserException, ConsoleMessageException {
-        Statement statement;
-        statement = CCJSqlParserUtil.parse(sql);
-        Select selectStatement = (Select) statement;
+        ParsedStatement parsedStatement = StatementCache.parse(sql);
+        Select selectStatement = (Select) parsedStatement.getStatement();
 
         // parse table name
         TablesNamesFinder tablesNamesFinder = new TablesNamesFinder();
@@ -247,11 +274,15 @@ public class CRUDParseUtils {
             throw new ConsoleMessageException("The distinct clause is not supported.");
         }
         Expression expr = selectBody.getWhere();
-        condition = handleExpression(condition, expr);
+        condition = handleExpression(parsedStatement, condition, expr);
 
+        // the select is paged within the limit, so the limit is not set to the condition here
         Limit limit = selectBody.getLimit();
         if (limit != null) {
-            parseLimit(condition, limit);
+            if (limit.getOffset() != null) {
+                table.setLimitOffset(parseLimitValue(parsedStatement, limit.getOffset()));
+            }
+            table.setLimitCount(parseLimitValue(parsedStatement, limit.getRowCount()));
         }
 
         // parse select item
@@ -266,7 +297,7 @@ public class CRUDParseUtils {
                             "The " + func.getName() + " function is not supported.");
                 }
             }
-            selectColumns.add(item.toString());
+            selectColumns.add(parsedStatement.bind(item.toString()));
         }
     }
 
@@ -292,10 +323,11 @@ public class CRUDParseUtils {
         }
     }
 
-    private static Condition handleExpression(Condition condition, Expression expr)
+    private static Condition handleExpression(
+            ParsedStatement parsedStatement, Condition condition, Expression expr)
             throws ConsoleMessageException {
         if (expr instanceof BinaryExpression) {
-            condition = getWhereClause((BinaryExpression) (expr), condition);
+            condition = getWhereClause(parsedStatement, (BinaryExpression) (expr), condition);
         }
         checkExpression(expr);
         Map<String, Map<ConditionOperator, String>> conditions = condition.getConditions();
@@ -330,8 +362,8 @@ public class CRUDParseUtils {
 
     public static void parseUpdate(String sql, Table table, Entry entry, Condition condition)
             throws JSQLParserException, ConsoleMessageException {
-        Statement statement = CCJSqlParserUtil.parse(sql);
-        Update update = (Update) statement;
+        ParsedStatement parsedStatement = StatementCache.parse(sql);
+        Update update = (Update) parsedStatement.getStatement();
 
         // parse table name
         List<net.sf.jsqlparser.schema.Table> tables = update.getTables();
@@ -344,7 +376,7 @@ public class CRUDParseUtils {
         int size = expressions.size();
         String[] values = new String[size];
         for (int i = 0; i < size; i++) {
-            values[i] = expressions.get(i).toString();
+            values[i] = parsedStatement.valueOf(expressions.get(i));
         }
         for (int i = 0; i < columns.size(); i++) {
             entry.getFieldNameToValue()
@@ -355,16 +387,16 @@ public class CRUDParseUtils {
         Expression where = update.getWhere();
         if (where != null) {
             BinaryExpression expr2 = (BinaryExpression) (where);
-            handleExpression(condition, expr2);
+            handleExpression(parsedStatement, condition, expr2);
         }
         Limit limit = update.getLimit();
-        parseLimit(condition, limit);
+        parseLimit(parsedStatement, condition, limit);
     }
 
     public static void parseRemove(String sql, Table table, Condition condition)
             throws JSQLParserException, ConsoleMessageException {
-        Statement statement = CCJSqlParserUtil.parse(sql);
-        Delete delete = (Delete) statement;
+        ParsedStatement parsedStatement = StatementCache.parse(sql);
+        Delete delete = (Delete) parsedStatement.getStatement();
 
         // parse table name
         net.sf.jsqlparser.schema.Table sqlTable = delete.getTable();
@@ -374,35 +406,51 @@ public class CRUDParseUtils {
         Expression where = delete.getWhere();
         if (where != null) {
             BinaryExpression expr = (BinaryExpression) (where);
-            handleExpression(condition, expr);
+            handleExpression(parsedStatement, condition, expr);
         }
         Limit limit = delete.getLimit();
-        parseLimit(condition, limit);
+        parseLimit(parsedStatement, condition, limit);
     }
 
-    private static void parseLimit(Condition condition, Limit limit)
+    private static void parseLimit(
+            ParsedStatement parsedStatement, Condition condition, Limit limit)
             throws ConsoleMessageException {
         if (limit != null) {
             Expression offset = limit.getOffset();
-            Expression count = limit.getRowCount();
-            try {
-                if (offset != null) {
-                    condition.Limit(
-                            Integer.parseInt(offset.toString()),
-                            Integer.parseInt(count.toString()));
-                } else {
-                    condition.Limit(Integer.parseInt(count.toString()));
-                }
-            } catch (NumberFormatException e) {
-                throw new ConsoleMessageException(
-                        "Please provide limit parameters by non-negative integer mode, "
-                                + Common.NonNegativeIntegerRange
-                                + ".");
+            int count = parseLimitValue(parsedStatement, limit.getRowCount());
+            if (offset != null) {
+                condition.Limit(parseLimitValue(parsedStatement, offset), count);
+            } else {
+                condition.Limit(count);
             }
         }
     }
 
-    private static Condition getWhereClause(Expression expr, Condition condition)
+    private static int parseLimitValue(ParsedStatement parsedStatement, Expression expression)
+            throws ConsoleMessageException {
+        try {
+            return Integer.parseInt(parsedStatement.valueOf(expression));
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new ConsoleMessageException(
+                    "Please provide limit parameters by non-negative integer mode, "
+                            + Common.NonNegativeIntegerRange
+                            + ".");
+        }
+    }
+
+    /** @return the file of the trailing INTO OUTFILE 'file' clause, null if there is none */
+    public static String parseOutFile(String sql) {
+        Matcher matcher = OUTFILE_PATTERN.matcher(sql);
+        return matcher.find() ? matcher.group(2) : null;
+    }
+
+    /** @return the statement without the trailing INTO OUTFILE clause */
+    public static String removeOutFile(String sql) {
+        return OUTFILE_PATTERN.matcher(sql).replaceFirst("");
+    }
+
+    private static Condition getWhereClause(
+            ParsedStatement parsedStatement, Expression expr, Condition condition)
             throws ConsoleMessageException {
         Set<String> keySet = new HashSet<>();
         Set<String> conflictKeys = new HashSet<>();
@@ -412,13 +460,17 @@ public class CRUDParseUtils {
                     @Override
                     protected void visitBinaryExpression(BinaryExpression expr) {
                         if (expr instanceof ComparisonOperator) {
-                            String key = trimQuotes(expr.getLeftExpression().toString());
+                            String key =
+                                    trimQuotes(
+                                            parsedStatement.valueOf(expr.getLeftExpression()));
                             if (keySet.contains(key)) {
                                 conflictKeys.add(key);
                             }
                             keySet.add(key);
                             String operation = expr.getStringExpression();
-                            String value = trimQuotes(expr.getRightExpression().toString());
+                            String value =
+                                    trimQuotes(
+                                            parsedStatement.valueOf(expr.getRightExpression()));
                             switch (operation) {
                                 case "=":
                                     condition.EQ(key, value);
@@ -0,0 +1,125 @@
+package console.precompiled.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the records of a CSV file one by one, the fields may be quoted by '"' to contain commas,
+ * line breaks and the '"' written as "".
+ */
+public class CsvReader implements Closeable {
+    private final Reader reader;
+    private int nextChar = -2;
+    private long lineNumber = 1;
+    private long recordLineNumber;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** @return the fields of the next record, null at the end of the file */
+    public List<String> readRecord() throws IOException {
+        recordLineNumber = lineNumber;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException(
+                            "Unclosed quotation mark of the record at line " + recordLineNumber);
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    c = read();
+                    if (c != '\n') {
+                        unread(c);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return the line of the record in the CSV file, the header if the record is null, which is
+     *     read back by readRecord
+     */
+    public static String formatRecord(List<String> columns, Map<String, String> record) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            String value = record == null ? columns.get(i) : record.get(columns.get(i));
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0
+                    || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0) {
+                builder.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                builder.append(value);
+            }
+        }
+        return builder.append('\n').toString();
+    }
+
+    /** @return the line number where the last record read starts */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (nextChar != -2) {
+            c = nextChar;
+            nextChar = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        nextChar = c;
+        if (c == '\n') {
+            lineNumber--;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,211 @@
+package console.precompiled.model;
+
+import console.common.Common;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+
+/**
+ * The parsed CRUD statements. The literals of a statement are replaced by the parameters ?1, ?2,
+ * ... and the template is parsed once, so the statements of the same shape with other literals
+ * only bind the literals to the cached parse tree. A parameter may be nested in an expression, e.g.
+ * "- ?1" or "concat(?1)", so the text of an expression is read by valueOf, which binds all the
+ * parameters in it. The cached trees are shared and must not be modified.
+ */
+public class StatementCache {
+    // the templates which could not be parsed are cached as null, they are parsed without the
+    // template every time
+    private static final Pattern PARAMETER = Pattern.compile("\\?(\\d+)");
+    private static final Map<String, Statement> templates =
+            new LinkedHashMap<String, Statement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Statement> eldest) {
+                    return size() > Common.StatementCacheSize;
+                }
+            };
+
+    public static class ParsedStatement {
+        private final Statement statement;
+        private final List<String> params;
+
+        private ParsedStatement(Statement statement, List<String> params) {
+            this.statement = statement;
+            this.params = params;
+        }
+
+        public Statement getStatement() {
+            return statement;
+        }
+
+        /** @return the text of the expression with the literals bound to its parameters */
+        public String valueOf(Expression expression) {
+            if (expression instanceof JdbcParameter) {
+                Integer index = ((JdbcParameter) expression).getIndex();
+                if (index != null && index >= 1 && index <= params.size()) {
+                    return params.get(index - 1);
+                }
+            }
+            return bind(expression.toString());
+        }
+
+        /**
+         * @return the text with the parameters replaced by the literals bound to them, the template
+         *     has no other '?' since the statements containing it are not parameterized
+         */
+        public String bind(String text) {
+            if (params.isEmpty() || text.indexOf('?') < 0) {
+                return text;
+            }
+            Matcher matcher = PARAMETER.matcher(text);
+            StringBuffer result = new StringBuffer(text.length());
+            while (matcher.find()) {
+                int index = Integer.parseInt(matcher.group(1));
+                String literal =
+                        index >= 1 && index <= params.size()
+                                ? params.get(index - 1)
+                                : matcher.group();
+                matcher.appendReplacement(result, Matcher.quoteReplacement(literal));
+            }
+            matcher.appendTail(result);
+            return result.toString();
+        }
+    }
+
+    public static ParsedStatement parse(String sql) throws JSQLParserException {
+        List<String> params = new ArrayList<>();
+        String template = toTemplate(sql, params);
+        if (template == null) {
+            return new ParsedStatement(CCJSqlParserUtil.parse(sql), new ArrayList<>());
+        }
+        Statement statement;
+        boolean cached;
+        synchronized (templates) {
+            cached = templates.containsKey(template);
+            statement = templates.get(template);
+        }
+        if (!cached) {
+            try {
+                statement = CCJSqlParserUtil.parse(template);
+            } catch (JSQLParserException e) {
+                // e.g. the literal is in the place where a parameter is not allowed
+                statement = null;
+            }
+            synchronized (templates) {
+                templates.put(template, statement);
+            }
+        }
+        if (statement == null) {
+            return new ParsedStatement(CCJSqlParserUtil.parse(sql), new ArrayList<>());
+        }
+        return new ParsedStatement(statement, params);
+    }
+
+    /**
+     * @return the statement with the quoted strings and the numbers replaced by the parameters,
+     *     null if it could not be parameterized
+     */
+    private static String toTemplate(String sql, List<String> params) {
+        StringBuilder template = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            int end = i + 1;
+            if (c == '?' || c == '\\') {
+                return null;
+            } else if (c == '`') {
+                end = sql.indexOf('`', i + 1);
+                if (end < 0 || sql.substring(i, end).indexOf('?') >= 0) {
+                    return null;
+                }
+                template.append(sql, i, ++end);
+            } else if (c == '\'' || c == '"') {
+                end = findQuoteEnd(sql, i);
+                if (end < 0) {
+                    return null;
+                }
+                addParam(template, params, sql.substring(i, end));
+            } else if (isIdentifierPart(c) && !Character.isDigit(c)) {
+                while (end < length && isIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                template.append(sql, i, end);
+            } else if (Character.isDigit(c)
+                    || (c == '-'
+                            && end < length
+                            && Character.isDigit(sql.charAt(end))
+                            && isSignPosition(template))) {
+                while (end < length
+                        && (isIdentifierPart(sql.charAt(end))
+                                || sql.charAt(end) == '.'
+                                || isExponentSign(sql, i, end))) {
+                    end++;
+                }
+                addParam(template, params, sql.substring(i, end));
+            } else {
+                template.append(c);
+            }
+            i = end;
+        }
+        return template.toString();
+    }
+
+    private static void addParam(StringBuilder template, List<String> params, String literal) {
+        params.add(literal);
+        template.append('?').append(params.size());
+    }
+
+    /** @return the index after the closing quote, the quote is escaped by doubling it */
+    private static int findQuoteEnd(String sql, int start) {
+        char quote = sql.charAt(start);
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '@';
+    }
+
+    /**
+     * @return true if the char at the index is the sign of the exponent of the decimal number
+     *     starting at start, e.g. 1e-5
+     */
+    private static boolean isExponentSign(String sql, int start, int index) {
+        char c = sql.charAt(index);
+        char previous = sql.charAt(index - 1);
+        return (c == '-' || c == '+')
+                && (previous == 'e' || previous == 'E')
+                && index + 1 < sql.length()
+                && Character.isDigit(sql.charAt(index + 1))
+                && sql.substring(start, index).toLowerCase().indexOf('x') < 0;
+    }
+
+    /** @return true if a '-' here is the sign of a number rather than a minus */
+    private static boolean isSignPosition(StringBuilder template) {
+        for (int i = template.length() - 1; i >= 0; i--) {
+            char c = template.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '(' || c == ',' || c == '=' || c == '<' || c == '>';
+            }
+        }
+        return true;
+    }
+}
@@ -9,6 +9,9 @@ public class Table {
     private String keyFieldName;
     private List<String> valueFields;
     private String optional = "";
+    private int limitOffset = 0;
+    // -1 if the select has no limit
+    private int limitCount = -1;
 
     public Table() {}
 
@@ -51,4 +54,20 @@ public class Table {
     public void setOptional(String optional) {
         this.optional = optional;
     }
+
+    public int getLimitOffset() {
+        return limitOffset;
+    }
+
+    public void setLimitOffset(int limitOffset) {
+        this.limitOffset = limitOffset;
+    }
+
+    public int getLimitCount() {
+        return limitCount;
+    }
+
+    public void setLimitCount(int limitCount) {
+        this.limitCount = limitCount;
+    }
 }
@@ -66,4 +66,8 @@ public interface PermissionFace {
     public void queryVotesOfMember(String[] params) throws Exception;
 
     public void queryVotesOfThreshold(String[] params) throws Exception;
+
+    public void batchPermission(String[] params) throws Exception;
+
+    public void permissionSnapshot(String[] params) throws Exception;
 }
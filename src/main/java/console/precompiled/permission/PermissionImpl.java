@@ -1,26 +1,165 @@
 package console.precompiled.permission;
 
+import console.command.model.HelpInfo;
 import console.common.Address;
+import console.common.Common;
+import console.common.ConsoleMetrics;
 import console.common.ConsoleUtils;
+import console.exception.ConsoleMessageException;
 import io.bretty.console.table.Alignment;
 import io.bretty.console.table.ColumnFormatter;
 import io.bretty.console.table.Table;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.security.InvalidParameterException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import org.fisco.bcos.sdk.client.Client;
 import org.fisco.bcos.sdk.contract.precompiled.permission.ChainGovernanceService;
 import org.fisco.bcos.sdk.contract.precompiled.permission.PermissionInfo;
 import org.fisco.bcos.sdk.contract.precompiled.permission.PermissionService;
 import org.fisco.bcos.sdk.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.model.RetCode;
 import org.fisco.bcos.sdk.transaction.model.exception.ContractException;
+import org.fisco.bcos.sdk.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class PermissionImpl implements PermissionFace {
+    private static final Logger logger = LoggerFactory.getLogger(PermissionImpl.class);
 
     private Client client;
     private PermissionService permissionService;
     private ChainGovernanceService chainGovernanceService;
 
+    private interface PermissionOperation {
+        RetCode apply(PermissionImpl permission, String target, String address) throws Exception;
+    }
+
+    // the operations supported by batchPermission
+    private static final Map<String, PermissionOperation> BATCH_OPERATIONS = new LinkedHashMap<>();
+    // the operations on a table or a contract, which is given before the address file
+    private static final List<String> TABLE_OPERATIONS =
+            Arrays.asList("grantUserTableManager", "revokeUserTableManager");
+    private static final List<String> CONTRACT_OPERATIONS =
+            Arrays.asList("grantContractWritePermission", "revokeContractWritePermission");
+
+    static {
+        BATCH_OPERATIONS.put(
+                "grantUserTableManager",
+                (permission, tableName, address) ->
+                        permission.permissionService.grantPermission(tableName, address));
+        BATCH_OPERATIONS.put(
+                "revokeUserTableManager",
+                (permission, tableName, address) ->
+                        permission.permissionService.revokePermission(tableName, address));
+        BATCH_OPERATIONS.put(
+                "grantDeployAndCreateManager",
+                (permission, target, address) ->
+                        permission.permissionService.grantDeployAndCreateManager(address));
+        BATCH_OPERATIONS.put(
+                "revokeDeployAndCreateManager",
+                (permission, target, address) ->
+                        permission.permissionService.revokeDeployAndCreateManager(address));
+        BATCH_OPERATIONS.put(
+                "grantNodeManager",
+                (permission, target, address) ->
+                        permission.permissionService.grantNodeManager(address));
+        BATCH_OPERATIONS.put(
+                "revokeNodeManager",
+                (permission, target, address) ->
+                        permission.permissionService.revokeNodeManager(address));
+        BATCH_OPERATIONS.put(
+                "grantCNSManager",
+                (permission, target, address) ->
+                        permission.permissionService.grantCNSManager(address));
+        BATCH_OPERATIONS.put(
+                "revokeCNSManager",
+                (permission, target, address) ->
+                        permission.permissionService.revokeCNSManager(address));
+        BATCH_OPERATIONS.put(
+                "grantSysConfigManager",
+                (permission, target, address) ->
+                        permission.permissionService.grantSysConfigManager(address));
+        BATCH_OPERATIONS.put(
+                "revokeSysConfigManager",
+                (permission, target, address) ->
+                        permission.permissionService.revokeSysConfigManager(address));
+        BATCH_OPERATIONS.put(
+                "grantContractWritePermission",
+                (permission, contractAddress, address) ->
+                        permission.permissionService.grantWrite(contractAddress, address));
+        BATCH_OPERATIONS.put(
+                "revokeContractWritePermission",
+                (permission, contractAddress, address) ->
+                        permission.permissionService.revokeWrite(contractAddress, address));
+        BATCH_OPERATIONS.put(
+                "grantCommitteeMember",
+                (permission, target, address) ->
+                        permission.chainGovernanceService.grantCommitteeMember(address));
+        BATCH_OPERATIONS.put(
+                "revokeCommitteeMember",
+                (permission, target, address) ->
+                        permission.chainGovernanceService.revokeCommitteeMember(address));
+        BATCH_OPERATIONS.put(
+                "grantOperator",
+                (permission, target, address) ->
+                        permission.chainGovernanceService.grantOperator(address));
+        BATCH_OPERATIONS.put(
+                "revokeOperator",
+                (permission, target, address) ->
+                        permission.chainGovernanceService.revokeOperator(address));
+        BATCH_OPERATIONS.put(
+                "freezeAccount",
+                (permission, target, address) ->
+                        permission.chainGovernanceService.freezeAccount(address));
+        BATCH_OPERATIONS.put(
+                "unfreezeAccount",
+                (permission, target, address) ->
+                        permission.chainGovernanceService.unfreezeAccount(address));
+    }
+
+    private static final String TABLES_OPTION = "--tables";
+    private static final String CONTRACTS_OPTION = "--contracts";
+
+    /** a list query of permissionSnapshot, the name is the table or the contract of the query */
+    private static class SnapshotQuery {
+        private final String section;
+        private final String name;
+        private final Callable<List<PermissionInfo>> query;
+
+        private SnapshotQuery(String section, String name, Callable<List<PermissionInfo>> query) {
+            this.section = section;
+            this.name = name;
+            this.query = query;
+        }
+    }
+
+    /** the result of the operation on an address of batchPermission */
+    private static class BatchResult {
+        private RetCode retCode;
+        private String errorMessage;
+        private long timeCost;
+    }
+
     public PermissionImpl(Client client) {
         this.client = client;
         CryptoKeyPair cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
@@ -33,10 +172,7 @@ public class PermissionImpl implements PermissionFace {
         String tableName = params[1];
 
         String address = params[2];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         address = convertAddr.getAddress();
         ConsoleUtils.printJson(
                 this.permissionService.grantPermission(tableName, address).toString());
@@ -46,10 +182,7 @@ public class PermissionImpl implements PermissionFace {
     public void revokeUserTableManager(String[] params) throws Exception {
         String tableName = params[1];
         String address = params[2];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         address = convertAddr.getAddress();
         ConsoleUtils.printJson(
                 this.permissionService.revokePermission(tableName, address).toString());
@@ -66,10 +199,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void grantDeployAndCreateManager(String[] params) throws Exception {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         address = convertAddr.getAddress();
         ConsoleUtils.printJson(
                 this.permissionService.grantDeployAndCreateManager(address).toString());
@@ -78,10 +208,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void revokeDeployAndCreateManager(String[] params) throws Exception {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         address = convertAddr.getAddress();
         ConsoleUtils.printJson(
                 this.permissionService.revokeDeployAndCreateManager(address).toString());
@@ -96,10 +223,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void grantNodeManager(String[] params) throws Exception {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         address = convertAddr.getAddress();
         ConsoleUtils.printJson(this.permissionService.grantNodeManager(address).toString());
     }
@@ -107,10 +231,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void revokeNodeManager(String[] params) throws Exception {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         address = convertAddr.getAddress();
         ConsoleUtils.printJson(this.permissionService.revokeNodeManager(address).toString());
     }
@@ -124,10 +245,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void grantCNSManager(String[] params) throws Exception {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         address = convertAddr.getAddress();
         ConsoleUtils.printJson(this.permissionService.grantCNSManager(address).toString());
     }
@@ -135,10 +253,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void revokeCNSManager(String[] params) throws Exception {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         ConsoleUtils.printJson(
                 this.permissionService.revokeCNSManager(convertAddr.getAddress()).toString());
     }
@@ -152,10 +267,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void grantSysConfigManager(String[] params) throws Exception {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         ConsoleUtils.printJson(
                 this.permissionService.grantSysConfigManager(convertAddr.getAddress()).toString());
     }
@@ -163,10 +275,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void revokeSysConfigManager(String[] params) throws Exception {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         ConsoleUtils.printJson(
                 this.permissionService.revokeSysConfigManager(convertAddr.getAddress()).toString());
     }
@@ -180,10 +289,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void listContractWritePermission(String[] params) throws Exception {
         String address = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(address);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(address);
         address = convertAddr.getAddress();
         List<PermissionInfo> permissions = this.permissionService.queryPermission(address);
         printPermissionInfo(permissions);
@@ -193,16 +299,10 @@ public class PermissionImpl implements PermissionFace {
     public void grantContractWritePermission(String[] params) throws Exception {
         String contractAddress = params[1];
         String userAddress = params[2];
-        Address convertAddr = ConsoleUtils.convertAddress(contractAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(contractAddress);
         contractAddress = convertAddr.getAddress();
 
-        Address convertUserAddr = ConsoleUtils.convertAddress(userAddress);
-        if (!convertUserAddr.isValid()) {
-            return;
-        }
+        Address convertUserAddr = ConsoleUtils.checkAddress(userAddress);
         userAddress = convertUserAddr.getAddress();
         ConsoleUtils.printJson(
                 this.permissionService.grantWrite(contractAddress, userAddress).toString());
@@ -212,16 +312,10 @@ public class PermissionImpl implements PermissionFace {
     public void revokeContractWritePermission(String[] params) throws Exception {
         String contractAddress = params[1];
         String userAddress = params[2];
-        Address convertAddr = ConsoleUtils.convertAddress(contractAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        Address convertAddr = ConsoleUtils.checkAddress(contractAddress);
         contractAddress = convertAddr.getAddress();
 
-        Address convertUserAddr = ConsoleUtils.convertAddress(userAddress);
-        if (!convertUserAddr.isValid()) {
-            return;
-        }
+        Address convertUserAddr = ConsoleUtils.checkAddress(userAddress);
         userAddress = convertUserAddr.getAddress();
         ConsoleUtils.printJson(
                 this.permissionService.revokeWrite(contractAddress, userAddress).toString());
@@ -230,10 +324,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void grantCommitteeMember(String[] params) throws Exception {
         String accountAddress = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(accountAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        ConsoleUtils.checkAddress(accountAddress);
         ConsoleUtils.printJson(
                 chainGovernanceService.grantCommitteeMember(accountAddress).toString());
     }
@@ -241,10 +332,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void revokeCommitteeMember(String[] params) throws Exception {
         String accountAddress = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(accountAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        ConsoleUtils.checkAddress(accountAddress);
         ConsoleUtils.printJson(
                 this.chainGovernanceService.revokeCommitteeMember(accountAddress).toString());
     }
@@ -258,10 +346,7 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void queryCommitteeMemberWeight(String[] params) throws Exception {
         String accountAddress = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(accountAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        ConsoleUtils.checkAddress(accountAddress);
         try {
             BigInteger weight =
                     this.chainGovernanceService.queryCommitteeMemberWeight(accountAddress);
@@ -284,10 +369,7 @@ public class PermissionImpl implements PermissionFace {
             return;
         }
 
-        Address convertAddr = ConsoleUtils.convertAddress(accountAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        ConsoleUtils.checkAddress(accountAddress);
         ConsoleUtils.printJson(
                 this.chainGovernanceService
                         .updateCommitteeMemberWeight(accountAddress, BigInteger.valueOf(weight))
@@ -338,20 +420,14 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void grantOperator(String[] params) throws Exception {
         String accountAddress = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(accountAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        ConsoleUtils.checkAddress(accountAddress);
         ConsoleUtils.printJson(chainGovernanceService.grantOperator(accountAddress).toString());
     }
 
     @Override
     public void revokeOperator(String[] params) throws Exception {
         String accountAddress = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(accountAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        ConsoleUtils.checkAddress(accountAddress);
         ConsoleUtils.printJson(chainGovernanceService.revokeOperator(accountAddress).toString());
     }
 
@@ -364,31 +440,333 @@ public class PermissionImpl implements PermissionFace {
     @Override
     public void freezeAccount(String[] params) throws Exception {
         String accountAddress = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(accountAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        ConsoleUtils.checkAddress(accountAddress);
         ConsoleUtils.printJson(chainGovernanceService.freezeAccount(accountAddress).toString());
     }
 
     @Override
     public void unfreezeAccount(String[] params) throws Exception {
         String accountAddress = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(accountAddress);
-        if (!convertAddr.isValid()) {
-            return;
-        }
+        ConsoleUtils.checkAddress(accountAddress);
         ConsoleUtils.printJson(chainGovernanceService.unfreezeAccount(accountAddress).toString());
     }
 
     @Override
     public void getAccountStatus(String[] params) throws Exception {
         String accountAddress = params[1];
-        Address convertAddr = ConsoleUtils.convertAddress(accountAddress);
-        if (!convertAddr.isValid()) {
+        ConsoleUtils.checkAddress(accountAddress);
+        ConsoleUtils.printJson(chainGovernanceService.getAccountStatus(accountAddress));
+    }
+
+    public static Set<String> getBatchOperations() {
+        return BATCH_OPERATIONS.keySet();
+    }
+
+    @Override
+    public void batchPermission(String[] params) throws Exception {
+        String operationName = params[1];
+        PermissionOperation operation = BATCH_OPERATIONS.get(operationName);
+        if (operation == null) {
+            throw new ConsoleMessageException(
+                    "The operation \""
+                            + operationName
+                            + "\" is not supported by batchPermission, supported operations: "
+                            + BATCH_OPERATIONS.keySet());
+        }
+        int fileIndex = 2;
+        String target = null;
+        if (TABLE_OPERATIONS.contains(operationName)
+                || CONTRACT_OPERATIONS.contains(operationName)) {
+            if (params.length < 4) {
+                HelpInfo.batchPermissionHelp();
+                return;
+            }
+            target = params[2];
+            if (CONTRACT_OPERATIONS.contains(operationName)) {
+                Address convertAddr = ConsoleUtils.checkAddress(target);
+                target = convertAddr.getAddress();
+            }
+            fileIndex = 3;
+        }
+        if (params.length > fileIndex + 2) {
+            HelpInfo.batchPermissionHelp();
             return;
         }
-        ConsoleUtils.printJson(chainGovernanceService.getAccountStatus(accountAddress));
+        int concurrency = Common.DefaultPermissionConcurrency;
+        if (params.length > fileIndex + 1) {
+            concurrency =
+                    ConsoleUtils.proccessNonNegativeNumber(
+                            "concurrency",
+                            params[fileIndex + 1],
+                            1,
+                            Common.MaxPermissionConcurrency);
+        }
+        File addressFile = new File(params[fileIndex]);
+        if (!addressFile.isFile()) {
+            throw new ConsoleMessageException(
+                    "The file " + addressFile.getAbsolutePath() + " doesn't exist.");
+        }
+        // check all the addresses before sending any transaction
+        List<String> addresses = new ArrayList<>();
+        List<String> lines = Files.readAllLines(addressFile.toPath(), StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String address = lines.get(i).trim();
+            if (address.isEmpty()) {
+                continue;
+            }
+            Address convertAddr = ConsoleUtils.convertAddress(address);
+            if (!convertAddr.isValid()) {
+                throw new ConsoleMessageException(
+                        "Please provide a valid address, line " + (i + 1) + ": " + address);
+            }
+            addresses.add(convertAddr.getAddress());
+        }
+        if (addresses.isEmpty()) {
+            throw new ConsoleMessageException(
+                    "No address is provided in " + addressFile.getAbsolutePath());
+        }
+        runBatch(operationName, operation, target, addresses, concurrency);
+    }
+
+    private void runBatch(
+            String operationName,
+            PermissionOperation operation,
+            String target,
+            List<String> addresses,
+            int concurrency)
+            throws InterruptedException, ConsoleMessageException {
+        ExecutorService executor = ConsoleMetrics.newFixedThreadPool(concurrency);
+        // the results are printed in the order of the addresses, at most 2 * concurrency
+        // transactions are in flight or waiting to be printed
+        Deque<Future<BatchResult>> window = new ArrayDeque<>();
+        int nextAddress = 0;
+        int successCount = 0;
+        long totalTimeCost = 0;
+        long maxTimeCost = 0;
+        long startTime = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < addresses.size(); i++) {
+                while (nextAddress < addresses.size() && window.size() < 2 * concurrency) {
+                    String address = addresses.get(nextAddress++);
+                    window.add(executor.submit(() -> apply(operation, target, address)));
+                }
+                BatchResult result;
+                try {
+                    result = window.poll().get();
+                } catch (ExecutionException e) {
+                    result = new BatchResult();
+                    result.errorMessage = e.getCause().getMessage();
+                }
+                String outcome;
+                if (result.errorMessage != null) {
+                    outcome = "failed, " + result.errorMessage;
+                } else if (result.retCode.getCode() < 0) {
+                    outcome = "failed, " + result.retCode.toString();
+                } else {
+                    outcome = result.retCode.toString();
+                    successCount++;
+                }
+                totalTimeCost += result.timeCost;
+                maxTimeCost = Math.max(maxTimeCost, result.timeCost);
+                System.out.println(addresses.get(i) + ": " + outcome);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long timeCost = Math.max(1, System.currentTimeMillis() - startTime);
+        System.out.println(
+                operationName
+                        + " for "
+                        + addresses.size()
+                        + " addresses, success: "
+                        + successCount
+                        + ", failed: "
+                        + (addresses.size() - successCount)
+                        + ", time cost: "
+                        + timeCost
+                        + " ms, addresses per second: "
+                        + String.format("%.2f", addresses.size() * 1000.0 / timeCost)
+                        + ", average latency: "
+                        + (totalTimeCost / addresses.size())
+                        + " ms, max latency: "
+                        + maxTimeCost
+                        + " ms");
+        if (successCount < addresses.size()) {
+            throw new ConsoleMessageException(
+                    operationName
+                            + " failed for "
+                            + (addresses.size() - successCount)
+                            + " addresses.");
+        }
+    }
+
+    private BatchResult apply(PermissionOperation operation, String target, String address) {
+        BatchResult result = new BatchResult();
+        long startTime = System.currentTimeMillis();
+        try {
+            result.retCode = operation.apply(this, target, address);
+        } catch (Exception e) {
+            result.errorMessage = e.getMessage();
+            logger.error(" message: {}, e: {}", e.getMessage(), e);
+        }
+        result.timeCost = System.currentTimeMillis() - startTime;
+        return result;
+    }
+
+    @Override
+    public void permissionSnapshot(String[] params) throws Exception {
+        List<String> tableNames = new ArrayList<>();
+        List<String> contractAddresses = new ArrayList<>();
+        String outFile = null;
+        for (int i = 1; i < params.length; i++) {
+            String option = params[i];
+            if (TABLES_OPTION.equals(option) || CONTRACTS_OPTION.equals(option)) {
+                if (++i >= params.length) {
+                    HelpInfo.permissionSnapshotHelp();
+                    return;
+                }
+                for (String item : params[i].split(",")) {
+                    item = item.trim();
+                    if (item.isEmpty()) {
+                        continue;
+                    }
+                    if (TABLES_OPTION.equals(option)) {
+                        tableNames.add(item);
+                        continue;
+                    }
+                    Address convertAddr = ConsoleUtils.checkAddress(item);
+                    contractAddresses.add(convertAddr.getAddress());
+                }
+            } else if (outFile == null) {
+                outFile = option;
+            } else {
+                HelpInfo.permissionSnapshotHelp();
+                return;
+            }
+        }
+
+        List<SnapshotQuery> queries = new ArrayList<>();
+        queries.add(
+                new SnapshotQuery(
+                        "committeeMembers", null, chainGovernanceService::listCommitteeMembers));
+        queries.add(new SnapshotQuery("operators", null, chainGovernanceService::listOperators));
+        queries.add(
+                new SnapshotQuery(
+                        "deployAndCreateManagers",
+                        null,
+                        permissionService::listDeployAndCreateManager));
+        queries.add(new SnapshotQuery("nodeManagers", null, permissionService::listNodeManager));
+        queries.add(new SnapshotQuery("cnsManagers", null, permissionService::listCNSManager));
+        queries.add(
+                new SnapshotQuery(
+                        "sysConfigManagers", null, permissionService::listSysConfigManager));
+        for (String tableName : tableNames) {
+            queries.add(
+                    new SnapshotQuery(
+                            "userTableManagers",
+                            tableName,
+                            () -> permissionService.queryPermissionByTableName(tableName)));
+        }
+        for (String contractAddress : contractAddresses) {
+            queries.add(
+                    new SnapshotQuery(
+                            "contractWritePermissions",
+                            contractAddress,
+                            () -> permissionService.queryPermission(contractAddress)));
+        }
+
+        // the keys and the permissions are sorted so that the snapshots can be diffed
+        Map<String, Object> snapshot = takeSnapshot(queries);
+        String json = ObjectMapperFactory.getObjectMapper().writeValueAsString(snapshot);
+        if (outFile == null) {
+            ConsoleUtils.printJson(json);
+            checkSnapshotErrors(snapshot);
+            return;
+        }
+        File file = new File(outFile);
+        if (file.getAbsoluteFile().getParentFile() != null) {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+        }
+        try (Writer writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            ConsoleUtils.writeJson(json, writer, false);
+            writer.write(System.lineSeparator());
+        }
+        System.out.println(
+                "The permission snapshot of group "
+                        + client.getGroupId()
+                        + " has been written to "
+                        + file.getAbsolutePath());
+        checkSnapshotErrors(snapshot);
+    }
+
+    /** @throws ConsoleMessageException if any query failed, the failures are in the snapshot */
+    private void checkSnapshotErrors(Map<String, Object> snapshot) throws ConsoleMessageException {
+        Map<?, ?> errors = (Map<?, ?>) snapshot.get("errors");
+        if (errors != null) {
+            throw new ConsoleMessageException(
+                    errors.size()
+                            + " queries of the permission snapshot failed: "
+                            + errors.keySet());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> takeSnapshot(List<SnapshotQuery> queries)
+            throws InterruptedException {
+        ExecutorService executor =
+                ConsoleMetrics.newFixedThreadPool(
+                        Math.min(queries.size(), Common.MaxPermissionConcurrency));
+        Map<String, Object> snapshot = new TreeMap<>();
+        snapshot.put("groupId", client.getGroupId());
+        Map<String, String> errors = new TreeMap<>();
+        try {
+            List<Future<List<PermissionInfo>>> futures = new ArrayList<>();
+            for (SnapshotQuery query : queries) {
+                futures.add(executor.submit(query.query));
+            }
+            for (int i = 0; i < queries.size(); i++) {
+                SnapshotQuery query = queries.get(i);
+                String queryName =
+                        query.name == null ? query.section : query.section + "." + query.name;
+                List<Map<String, String>> permissions = new ArrayList<>();
+                try {
+                    for (PermissionInfo permissionInfo : futures.get(i).get()) {
+                        Map<String, String> permission = new TreeMap<>();
+                        permission.put("address", permissionInfo.getAddress());
+                        permission.put("enableNum", permissionInfo.getEnableNum());
+                        permissions.add(permission);
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() == null ? e : e.getCause();
+                    // reported under "errors" of the snapshot, stdout only has the document
+                    logger.error(
+                            " query {} failed, message: {}, e: {}",
+                            queryName,
+                            cause.getMessage(),
+                            cause);
+                    errors.put(queryName, String.valueOf(cause.getMessage()));
+                    continue;
+                }
+                permissions.sort(Comparator.comparing(permission -> permission.get("address")));
+                if (query.name == null) {
+                    snapshot.put(query.section, permissions);
+                } else {
+                    ((Map<String, Object>)
+                                    snapshot.computeIfAbsent(
+                                            query.section, section -> new TreeMap<>()))
+                            .put(query.name, permissions);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (!errors.isEmpty()) {
+            snapshot.put("errors", errors);
+        }
+        return snapshot;
     }
 
     private void printPermissionInfo(List<PermissionInfo> permissionInfos) {
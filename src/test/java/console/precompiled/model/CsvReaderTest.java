@@ -0,0 +1,72 @@
+package console.precompiled.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class CsvReaderTest {
+
+    @Test
+    public void readRecords() throws IOException {
+        CsvReader reader =
+                new CsvReader(
+                        new StringReader(
+                                "name,item_id,item_name\r\n"
+                                        + "fruit,1,\"apple, red\"\n"
+                                        + "fruit,2,\"say \"\"hi\"\"\"\n"
+                                        + "fruit,3,\"two\nlines\"\n"
+                                        + ",,\n"
+                                        + "fruit,4,pear"));
+        assertEquals(Arrays.asList("name", "item_id", "item_name"), reader.readRecord());
+        assertEquals(1L, reader.getRecordLineNumber());
+        assertEquals(Arrays.asList("fruit", "1", "apple, red"), reader.readRecord());
+        assertEquals(2L, reader.getRecordLineNumber());
+        assertEquals(Arrays.asList("fruit", "2", "say \"hi\""), reader.readRecord());
+        assertEquals(Arrays.asList("fruit", "3", "two\nlines"), reader.readRecord());
+        assertEquals(4L, reader.getRecordLineNumber());
+        assertEquals(Arrays.asList("", "", ""), reader.readRecord());
+        assertEquals(6L, reader.getRecordLineNumber());
+        assertEquals(Arrays.asList("fruit", "4", "pear"), reader.readRecord());
+        assertNull(reader.readRecord());
+        reader.close();
+    }
+
+    @Test
+    public void unclosedQuotation() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("fruit,1\nfruit,\"2\n"));
+        reader.readRecord();
+        try {
+            reader.readRecord();
+            fail("the unclosed quotation mark is not reported");
+        } catch (IOException e) {
+            assertEquals("Unclosed quotation mark of the record at line 2", e.getMessage());
+        }
+        reader.close();
+    }
+
+    @Test
+    public void formatRecord() throws IOException {
+        List<String> columns = Arrays.asList("name", "item_id", "item_name");
+        assertEquals("name,item_id,item_name\n", CsvReader.formatRecord(columns, null));
+
+        Map<String, String> record = new HashMap<>();
+        record.put("name", "fruit");
+        record.put("item_name", "say \"hi\", \r\nbye");
+        String line = CsvReader.formatRecord(columns, record);
+        assertEquals("fruit,,\"say \"\"hi\"\", \r\nbye\"\n", line);
+
+        // the formatted record is read back as it was
+        CsvReader reader = new CsvReader(new StringReader(line));
+        assertEquals(Arrays.asList("fruit", "", "say \"hi\", \r\nbye"), reader.readRecord());
+        assertNull(reader.readRecord());
+        reader.close();
+    }
+}
@@ -0,0 +1,91 @@
+package console.precompiled.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import console.precompiled.model.StatementCache.ParsedStatement;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.update.Update;
+import org.junit.Test;
+
+public class StatementCacheTest {
+
+    /** the cached statement with its literals bound reads the same as the statement parsed */
+    private static ParsedStatement assertSameAsDirectParse(String sql) throws JSQLParserException {
+        ParsedStatement parsedStatement = StatementCache.parse(sql);
+        assertEquals(
+                CCJSqlParserUtil.parse(sql).toString(),
+                parsedStatement.bind(parsedStatement.getStatement().toString()));
+        return parsedStatement;
+    }
+
+    @Test
+    public void quotedStrings() throws JSQLParserException {
+        ParsedStatement parsedStatement =
+                assertSameAsDirectParse(
+                        "insert into t_demo (name, item_id, item_name) values ('fruit?', '?1', 'it''s')");
+        ExpressionList values =
+                (ExpressionList) ((Insert) parsedStatement.getStatement()).getItemsList();
+        assertEquals("'fruit?'", parsedStatement.valueOf(values.getExpressions().get(0)));
+        assertEquals("'?1'", parsedStatement.valueOf(values.getExpressions().get(1)));
+        assertEquals("'it''s'", parsedStatement.valueOf(values.getExpressions().get(2)));
+        assertSameAsDirectParse("select * from t_demo where name = \"a,b\" and item_name = 'x'");
+    }
+
+    @Test
+    public void nestedExpressions() throws JSQLParserException {
+        ParsedStatement parsedStatement =
+                assertSameAsDirectParse(
+                        "update t_demo set item_name = concat('x'), item_id = (5) where name = 'fruit'");
+        Update update = (Update) parsedStatement.getStatement();
+        assertEquals("concat('x')", parsedStatement.valueOf(update.getExpressions().get(0)));
+        assertEquals("(5)", parsedStatement.valueOf(update.getExpressions().get(1)));
+    }
+
+    @Test
+    public void negativeNumbers() throws JSQLParserException {
+        ParsedStatement parsedStatement =
+                assertSameAsDirectParse(
+                        "select * from t_demo where name = 'fruit' and item_id = - 5");
+        PlainSelect select =
+                (PlainSelect) ((Select) parsedStatement.getStatement()).getSelectBody();
+        EqualsTo itemId = (EqualsTo) ((AndExpression) select.getWhere()).getRightExpression();
+        assertEquals("-5", parsedStatement.valueOf(itemId.getRightExpression()));
+        assertSameAsDirectParse("select * from t_demo where name = 'fruit' and item_id = -5");
+        assertSameAsDirectParse("select * from t_demo where name = 'fruit' and item_id >= 10 - 5");
+        assertSameAsDirectParse("update t_demo set item_id = 1.5e-5 where name = 'fruit'");
+    }
+
+    @Test
+    public void limit() throws JSQLParserException {
+        ParsedStatement parsedStatement =
+                assertSameAsDirectParse("select * from t_demo where name = 'fruit' limit 2, 10");
+        PlainSelect select =
+                (PlainSelect) ((Select) parsedStatement.getStatement()).getSelectBody();
+        assertEquals("2", parsedStatement.valueOf(select.getLimit().getOffset()));
+        assertEquals("10", parsedStatement.valueOf(select.getLimit().getRowCount()));
+    }
+
+    @Test
+    public void cachedTemplate() throws JSQLParserException {
+        // the same shape with other literals binds the new literals to the cached tree
+        ParsedStatement first =
+                assertSameAsDirectParse("select * from t_demo where name = 'a' and item_id = 1");
+        ParsedStatement second =
+                assertSameAsDirectParse("select * from t_demo where name = 'b' and item_id = 2");
+        assertSame(first.getStatement(), second.getStatement());
+    }
+
+    @Test
+    public void notParameterized() throws JSQLParserException {
+        assertSameAsDirectParse("select * from t_demo where name = ?");
+        assertSameAsDirectParse("select * from `t?demo` where name = 'a'");
+    }
+}
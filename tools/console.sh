@@ -32,6 +32,8 @@ function Usage() {
     LOG_INFO "./console.sh"
     LOG_INFO "./console.sh -h"
     LOG_INFO "./console.sh --version or -v"
+    LOG_INFO "./console.sh --daemon [groupId]: start the console daemon listening on 127.0.0.1:\${CONSOLE_DAEMON_PORT:-20330}"
+    LOG_INFO "./console.sh --remote [groupId] [Subcommand]: send the command to the console daemon with the token in conf/.daemon_token, --stop to stop the daemon"
 }
 
 function check_java(){
@@ -60,6 +62,13 @@ function check_java(){
 
 if [ "${1}" == "-v" ] || [ "${1}" == "--version" ];then
     java -cp "apps/*:conf/:lib/*:classes/" console.common.ConsoleVersion
+elif [ "${1}" == "--daemon" ];then
+   check_java
+   shift
+   java -cp "apps/*:conf/:lib/*:classes/:accounts/" console.ConsoleDaemon "$@"
+elif [ "${1}" == "--remote" ];then
+   shift
+   java -cp "apps/*:classes/" console.DaemonClient "$@"
 else
    check_java
    java -cp "apps/*:conf/:lib/*:classes/:accounts/" console.NonInteractiveConsole "$@"